@@ -28,9 +28,23 @@ import org.usfirst.frc.team1554.lib.util.Predicates;
 import com.sun.istack.internal.NotNull;
 import com.sun.istack.internal.Nullable;
 
+import java.util.AbstractList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * A flexible representation of an arbitrary length Array, attempt at a better ArrayList, with the sacrifice of losing
@@ -40,7 +54,12 @@ import java.util.function.Predicate;
  *
  * @param <T>
  */
-public class Array<T> implements Iterable<T> {
+public class Array<T> implements Iterable<T>, MemoryAccountable {
+
+    /**
+     * Minimum number of pairs that would be compared, i.e. this size times the other size, before a set is built.
+     */
+    static final int HASH_THRESHOLD = 512;
 
     /**
      * Returns an Ordered Empty Array with the provided element type. This Class object may be used later to
@@ -84,8 +103,11 @@ public class Array<T> implements Iterable<T> {
 
     private int size;
     private boolean ordered;
+    private GrowthPolicy growth = GrowthPolicy.DEFAULT;
 
-    private Iterable<T> iterable;
+    // Owned by the thread that last started a loop on this Array, everyone else uses a pooled iterator
+    private ArrayIterator<T> iterator;
+    private ListView<T> list;
 
     /**
      * Create an empty ordered array.
@@ -160,8 +182,8 @@ public class Array<T> implements Iterable<T> {
         this(ordered, count, arr.getClass().getComponentType());
         this.size = count;
 
-        Preconditions.checkElementIndex(start, arr.length);
-        Preconditions.checkElementIndex(start + count, arr.length);
+        Preconditions.checkElementIndex(start, arr.length + 1);
+        Preconditions.checkElementIndex(start + count, arr.length + 1);
         System.arraycopy(arr, start, this.items, 0, this.size);
     }
 
@@ -172,9 +194,9 @@ public class Array<T> implements Iterable<T> {
      */
     public void add(T value) {
 
-        // Resize if no room available, use a scaling factor of 1.75
+        // Resize if no room available, as much as the growth policy says
         if (this.size == this.items.length) {
-            resize(Math.max(8, (int) (this.size * 1.75f)));
+            resize(this.growth.grow(this.size + 1));
         }
 
         this.items[this.size++] = value;
@@ -197,8 +219,8 @@ public class Array<T> implements Iterable<T> {
      * @param count Number of Elements to Copy
      */
     public void addAll(Array<? extends T> array, int start, int count) {
-        Preconditions.checkElementIndex(start, array.size);
-        Preconditions.checkElementIndex(start + count, array.size, "start + count MUST be <= array.size! Size: " + array.size);
+        Preconditions.checkElementIndex(start, array.size + 1);
+        Preconditions.checkElementIndex(start + count, array.size + 1, "start + count MUST be <= array.size! Size: " + array.size);
 
         addAll(array.items, start, count);
     }
@@ -213,6 +235,18 @@ public class Array<T> implements Iterable<T> {
         addAll(items, 0, items.length);
     }
 
+    /**
+     * Append every element of a collection, in its iteration order, with one copy out of the collection and one
+     * {@link System#arraycopy} in to this Array.
+     *
+     * @param collection Collection to append
+     */
+    @SuppressWarnings("unchecked")
+    public void addAll(@NotNull Collection<? extends T> collection) {
+        final Object[] values = collection.toArray();
+        addAll((T[]) values, 0, values.length);
+    }
+
     /**
      * Append an entire array or sub-array to this Array
      *
@@ -223,7 +257,7 @@ public class Array<T> implements Iterable<T> {
     public void addAll(T[] array, int start, int count) {
         final int requirement = this.size + count;
         if (requirement > this.items.length) {
-            resize(Math.max(8, (int) (requirement * 1.75f)));
+            resize(this.growth.grow(requirement));
         }
 
         System.arraycopy(array, start, this.items, this.size, count);
@@ -265,7 +299,7 @@ public class Array<T> implements Iterable<T> {
         Preconditions.checkElementIndex(index, this.size + 1);
 
         if (this.size == this.items.length) {
-            resize(Math.max(8, (int) (this.size * 1.75f)));
+            resize(this.growth.grow(this.size + 1));
         }
 
         if (this.ordered) {
@@ -302,11 +336,11 @@ public class Array<T> implements Iterable<T> {
      */
     public boolean contains(@Nullable T val, boolean identityComparison) {
         if (identityComparison || (val == null)) {
-            for (int i = 0; i < this.items.length; i++)
+            for (int i = 0; i < this.size; i++)
                 if (this.items[i] == val) return true;
         } else {
-            for (int i = 0; i < this.items.length; i++)
-                if (this.items[i].equals(val)) return true;
+            for (int i = 0; i < this.size; i++)
+                if (val.equals(this.items[i])) return true;
         }
 
         return false;
@@ -325,7 +359,7 @@ public class Array<T> implements Iterable<T> {
                 if (this.items[i] == value) return i;
         } else {
             for (int i = 0; i < this.size; i++)
-                if (this.items[i].equals(value)) return i;
+                if (value.equals(this.items[i])) return i;
         }
 
         return -1;
@@ -344,7 +378,7 @@ public class Array<T> implements Iterable<T> {
                 if (this.items[i] == value) return i;
         } else {
             for (int i = this.size - 1; i >= 0; i--)
-                if (this.items[i].equals(value)) return i;
+                if (value.equals(this.items[i])) return i;
         }
 
         return -1;
@@ -401,17 +435,19 @@ public class Array<T> implements Iterable<T> {
         if (this.ordered) {
             System.arraycopy(this.items, start + count, this.items, start, this.size - (start + count));
         } else {
-            final int last = this.size - 1;
-            for (int i = 0; i < count; i++) {
-                this.items[start + 1] = this.items[last - i];
-            }
+            // Fill the hole with the tail, never moving more than the hole or the tail holds
+            final int moved = Math.min(count, this.size - (end + 1));
+            System.arraycopy(this.items, this.size - moved, this.items, start, moved);
         }
 
+        Arrays.fill(this.items, this.size - count, this.size, null);
         this.size -= count;
     }
 
     /**
-     * Remove all elements found in the given array from this array.
+     * Remove the first occurrence of each element of the given array from this array. Once both arrays are large
+     * enough that comparing every pair would be slow, the elements of the other array are counted into a temporary map
+     * first and this array is compacted in a single pass, removing as many occurrences of each as were counted.
      *
      * @param array              Other Array
      * @param identityComparison Whether or not '==' should be used for comparisons
@@ -419,33 +455,203 @@ public class Array<T> implements Iterable<T> {
      */
     public boolean removeAll(@NotNull Array<? extends T> array, boolean identityComparison) {
         Preconditions.checkNotNull(array);
+        if ((this.size == 0) || (array.size == 0)) return false;
+
+        if ((array.size < 8) || (((long) array.size * this.size) < HASH_THRESHOLD)) {
+            final int startSize = this.size;
+            final T[] values = array.items;
+
+            for (int i = 0, n = array.size; i < n; i++) {
+                final int index = indexOf(values[i], identityComparison);
+                if (index >= 0)
+                    removeIndex(index);
+            }
+
+            return this.size != startSize;
+        }
+
+        return compact(occurrences(array, identityComparison), false) != 0;
+    }
+
+    /**
+     * Keep only the elements that are also found in the given array, as {@link java.util.Collection#retainAll} does.
+     * Uses a temporary set for large arrays like {@link #removeAll(Array, boolean)}.
+     *
+     * @param array              Other Array
+     * @param identityComparison Whether or not '==' should be used for comparisons
+     * @return True if modified, false otherwise.
+     */
+    public boolean retainAll(@NotNull Array<? extends T> array, boolean identityComparison) {
+        Preconditions.checkNotNull(array);
+        if (this.size == 0) return false;
+
+        return compact(membership(array, identityComparison, this.size), true) != 0;
+    }
+
+    /**
+     * Check if every element of the given array is contained in this Array. Uses a temporary set of this Array's
+     * elements for large arrays like {@link #removeAll(Array, boolean)}.
+     *
+     * @param array              Other Array
+     * @param identityComparison Whether or not '==' should be used in comparisons
+     * @return True if all are contained, also true if the other array is empty
+     */
+    public boolean containsAll(@NotNull Array<? extends T> array, boolean identityComparison) {
+        Preconditions.checkNotNull(array);
+
+        final Predicate<Object> contained = membership(this, identityComparison, array.size);
+        final T[] items = array.items;
+
+        for (int i = 0, n = array.size; i < n; i++)
+            if (!contained.test(items[i])) return false;
+
+        return true;
+    }
+
+    /**
+     * Returns a test that passes for as many occurrences of each value as the given array holds, the earliest tested
+     * first. The java.util maps are used because they take a null key, which the cuckoo-hashed collections do not.
+     *
+     * @param array              Array whose elements are counted
+     * @param identityComparison Whether or not '==' should be used in comparisons
+     */
+    private static Predicate<Object> occurrences(Array<?> array, boolean identityComparison) {
+        final Map<Object, int[]> counts = identityComparison ? new IdentityHashMap<>(array.size) : new HashMap<>(array.size);
+        final Object[] items = array.items;
+
+        for (int i = 0, n = array.size; i < n; i++)
+            counts.computeIfAbsent(items[i], key -> new int[1])[0]++;
+
+        return value -> {
+            final int[] count = counts.get(value);
+            if ((count == null) || (count[0] == 0)) return false;
+
+            count[0]--;
+            return true;
+        };
+    }
+
+    /**
+     * Returns a test for membership in the given array, scanning it for small inputs and hashing it for large ones.
+     *
+     * @param array              Array whose elements are the members
+     * @param identityComparison Whether or not '==' should be used in comparisons
+     * @param probes             How many times the test will be used
+     */
+    private static Predicate<Object> membership(Array<?> array, boolean identityComparison, int probes) {
+        final Object[] items = array.items;
+        final int size = array.size;
+
+        if ((size < 8) || (((long) size * probes) < HASH_THRESHOLD)) {
+            if (identityComparison) {
+                return value -> {
+                    for (int i = 0; i < size; i++)
+                        if (items[i] == value) return true;
+                    return false;
+                };
+            }
+
+            return value -> {
+                for (int i = 0; i < size; i++)
+                    if (value == null ? items[i] == null : value.equals(items[i])) return true;
+                return false;
+            };
+        }
+
+        // Neither set accepts null keys, so that is tracked on the side
+        boolean hasNull = false;
 
-        final int startSize = this.size;
         if (identityComparison) {
-            for (int i = 0; i < array.size; i++) {
-                final T item = array.get(i);
-                for (int j = 0; j < this.size; j++) {
-                    if (item == this.items[j]) {
-                        removeIndex(j);
-                        this.size--;
-                        break;
-                    }
-                }
+            final IdentitySet<Object> members = new IdentitySet<>(size);
+            for (int i = 0; i < size; i++) {
+                if (items[i] == null) hasNull = true;
+                else members.add(items[i]);
             }
-        } else {
-            for (int i = 0; i < array.size; i++) {
-                final T item = array.get(i);
-                for (int j = 0; j < this.size; j++) {
-                    if (item.equals(this.items[j])) {
-                        removeIndex(j);
-                        this.size--;
-                        break;
-                    }
-                }
+
+            final boolean nullMember = hasNull;
+            return value -> value == null ? nullMember : members.contains(value);
+        }
+
+        final ObjectSet<Object> members = new ObjectSet<>(size);
+        for (int i = 0; i < size; i++) {
+            if (items[i] == null) hasNull = true;
+            else members.add(items[i]);
+        }
+
+        final boolean nullMember = hasNull;
+        return value -> value == null ? nullMember : members.contains(value);
+    }
+
+    /**
+     * Removes every element for which the predicate is true in a single pass, compacting the survivors to the front of
+     * the backing array and nulling the vacated tail. Relative order is preserved.
+     *
+     * @param filter Test Function
+     * @return True if modified, false otherwise.
+     */
+    public boolean removeIf(@NotNull Predicate<? super T> filter) {
+        return compact(Preconditions.checkNotNull(filter), false) != 0;
+    }
+
+    /**
+     * Keeps only the elements for which the predicate is true, the complement of {@link #removeIf(Predicate)}.
+     *
+     * @param filter Test Function
+     * @return True if modified, false otherwise.
+     */
+    public boolean retainIf(@NotNull Predicate<? super T> filter) {
+        return compact(Preconditions.checkNotNull(filter), true) != 0;
+    }
+
+    /**
+     * Appends every element for which the predicate is true to the destination, in order. This Array is not modified.
+     *
+     * @param dest   Array to add to, must not be this Array
+     * @param filter Test Function
+     * @return The destination for Chaining
+     */
+    public <A extends Array<? super T>> A filterInto(@NotNull A dest, @NotNull Predicate<? super T> filter) {
+        Preconditions.checkNotNull(filter);
+        Preconditions.checkExpression(dest != this, "Cannot filter an Array into itself, use retainIf");
+
+        final T[] items = this.items;
+        for (int i = 0, n = this.size; i < n; i++) {
+            final T item = items[i];
+            if (filter.test(item))
+                dest.add(item);
+        }
+
+        return dest;
+    }
+
+    /**
+     * Keeps the elements whose test result equals keep, moving each one down over the removed ones.
+     *
+     * @return Number of elements removed
+     */
+    private int compact(Predicate<? super T> filter, boolean keep) {
+        final T[] items = this.items;
+        final int n = this.size;
+        int read = 0, write = 0;
+
+        try {
+            for (; read < n; read++) {
+                final T item = items[read];
+                if (filter.test(item) == keep)
+                    items[write++] = item;
+            }
+        } finally {
+            // If the predicate threw, keep everything it did not get to
+            if (read < n) {
+                System.arraycopy(items, read, items, write, n - read);
+                write += n - read;
             }
+
+            Arrays.fill(items, write, n, null);
+            this.size = write;
         }
 
-        return this.size != startSize;
+        return n - write;
     }
 
     /**
@@ -517,7 +723,7 @@ public class Array<T> implements Iterable<T> {
     public Array<T> ensureCapacity(int additionalCapacity) {
         final int newSize = this.size + additionalCapacity;
         if (newSize > this.items.length) {
-            resize(Math.max(8, newSize));
+            resize(this.growth.grow(newSize));
         }
 
         return this;
@@ -528,6 +734,7 @@ public class Array<T> implements Iterable<T> {
      *
      * @return Size of Array
      */
+    @Override
     public int size() {
         return size;
     }
@@ -539,6 +746,53 @@ public class Array<T> implements Iterable<T> {
         return ordered;
     }
 
+    /**
+     * Length of the backing array, the number of elements that fit before the next resize.
+     *
+     * @return Capacity of Array
+     */
+    @Override
+    public int capacity() {
+        return this.items.length;
+    }
+
+    /**
+     * Estimated bytes of this Array and its backing array, not counting the elements themselves.
+     *
+     * @return Estimated Retained Bytes
+     */
+    @Override
+    public long estimatedRetainedBytes() {
+        return MemoryEstimate.object((4 * MemoryEstimate.REFERENCE_BYTES) + 5) + MemoryEstimate.array(this.items.length, MemoryEstimate.REFERENCE_BYTES);
+    }
+
+    /**
+     * Sets how this Array grows when it runs out of room, {@link GrowthPolicy#DEFAULT} unless changed.
+     *
+     * @param growth Growth Policy
+     * @return This Array for Chaining
+     */
+    public Array<T> setGrowthPolicy(@NotNull GrowthPolicy growth) {
+        this.growth = Preconditions.checkNotNull(growth);
+        return this;
+    }
+
+    public GrowthPolicy getGrowthPolicy() {
+        return this.growth;
+    }
+
+    /**
+     * Shrinks the backing array to the current size if more slots are unused than the growth policy's maxWaste allows.
+     *
+     * @return True if the backing array was shrunk
+     */
+    public boolean trimWaste() {
+        if (!this.growth.isWasteful(this.size, this.items.length)) return false;
+
+        resize(this.size);
+        return true;
+    }
+
     @SuppressWarnings("unchecked")
     protected T[] resize(int newSize) {
         final T[] items = this.items;
@@ -549,9 +803,55 @@ public class Array<T> implements Iterable<T> {
         return newItems;
     }
 
-    // TODO Sort Methods
+    /**
+     * Sorts this array in place by natural order, every element must be {@link Comparable}. The sort is stable and
+     * reuses a per-thread merge buffer, see {@link Sort}.
+     *
+     * @return This Array for Chaining
+     */
+    public Array<T> sort() {
+        Sort.instance().sort(this.items, Sort.natural(), 0, this.size);
+        return this;
+    }
+
+    /**
+     * Sorts this array in place with the given comparator. The sort is stable and reuses a per-thread merge buffer,
+     * see {@link Sort}.
+     *
+     * @param comparator Ordering
+     * @return This Array for Chaining
+     */
+    public Array<T> sort(Comparator<? super T> comparator) {
+        Sort.instance().sort(this.items, comparator, 0, this.size);
+        return this;
+    }
+
+    /**
+     * Selects the k-th ranked element according to the comparator in expected O(n) time. The lowest element has rank 1
+     * and the highest has rank {@link #size()}. <br />
+     * <br />
+     * This may reorder the array! Only ranks 1 and size are found with a plain scan that leaves the order untouched.
+     *
+     * @param comparator Ordering
+     * @param kth        Rank, from 1 to size
+     * @return The k-th ranked element
+     */
+    public T selectRanked(Comparator<? super T> comparator, int kth) {
+        return this.items[selectRankedIndex(comparator, kth)];
+    }
 
-    // TODO Select Methods
+    /**
+     * Finds the index of the k-th ranked element according to the comparator in expected O(n) time. See
+     * {@link #selectRanked(Comparator, int)}, this may reorder the array and the index is only valid until it is next
+     * modified.
+     *
+     * @param comparator Ordering
+     * @param kth        Rank, from 1 to size
+     * @return Index of the k-th ranked element
+     */
+    public int selectRankedIndex(Comparator<? super T> comparator, int kth) {
+        return Select.selectIndex(this.items, comparator, kth, this.size);
+    }
 
     /**
      * Reverses the order of the array.
@@ -585,13 +885,91 @@ public class Array<T> implements Iterable<T> {
         return this;
     }
 
+    /**
+     * Returns an iterator over the elements. Iteration is allocation-free in the common case and safe when nested or
+     * when several threads read at once: the owning thread reuses a cached iterator, other threads take one from a
+     * small per-thread pool. If the owner finds its cached iterator still in use, either by an enclosing loop or by a
+     * loop that was left early, it takes a pooled iterator and makes that the cached one, the old one goes to the pool
+     * once it finishes or to the garbage collector if it never does. An iterator is recycled once
+     * {@link Iterator#hasNext()} returns false, so it must not be used after that.
+     */
     @Override
     public Iterator<T> iterator() {
-        if (this.iterable == null) {
-            this.iterable = new ArrayIterable<>(this);
+        final long current = Thread.currentThread().getId();
+        ArrayIterator<T> iterator = this.iterator;
+
+        if (iterator == null) {
+            iterator = ArrayIterator.obtain(this);
+            iterator.owner = current;
+            this.iterator = iterator;
+            return iterator;
+        }
+
+        if (iterator.owner != current)
+            return ArrayIterator.obtain(this);
+
+        if (iterator.busy) {
+            // Nested or abandoned, either way the old iterator is no longer ours and goes to the pool when done
+            iterator = ArrayIterator.obtain(this);
+            iterator.owner = current;
+            this.iterator = iterator;
+            return iterator;
         }
 
-        return this.iterable.iterator();
+        iterator.index = 0;
+        iterator.busy = true;
+        return iterator;
+    }
+
+    /**
+     * Performs the action for each element, in order, by index. Does not use an iterator at all.
+     *
+     * @param action Action to Perform
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        Preconditions.checkNotNull(action);
+
+        for (int i = 0; i < this.size; i++)
+            action.accept(this.items[i]);
+    }
+
+    /**
+     * Returns a {@link List} view of this Array. The view reads and writes straight through to the backing array, no
+     * element is copied, and changes to either are visible in the other. Its iterators are only fail-fast for changes
+     * made through the view. <br />
+     * <br />
+     * {@link List#add(Object)} goes through {@link #add(Object)} and {@link List#addAll(Collection)} through
+     * {@link #addAll(Collection)}, so a {@link SortedArray} keeps the elements in order. Adding at an index always goes
+     * through {@link #insert(int, Object)}, which a SortedArray refuses.
+     *
+     * @return RandomAccess List View
+     */
+    public List<T> asList() {
+        if (this.list == null)
+            this.list = new ListView<>(this);
+
+        return this.list;
+    }
+
+    /**
+     * Returns a spliterator over [0, size) of the backing array. It reports its exact size, splits evenly on the array
+     * for parallel streams and is bound to the current backing array, so the Array must not be modified while it is
+     * in use. It reports ORDERED only if this Array is ordered.
+     *
+     * @return Sized Spliterator, Ordered if this Array is
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(this.items, 0, this.size, this.ordered ? Spliterator.ORDERED : 0);
+    }
+
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
     }
 
     /**
@@ -601,7 +979,7 @@ public class Array<T> implements Iterable<T> {
      * @return Iterable containing elements where P(element) = true
      */
     public Iterable<T> select(Predicate<T> predicate) {
-        return Predicates.iterable(this.iterable, predicate);
+        return Predicates.iterable(this, predicate);
     }
 
     /**
@@ -693,7 +1071,7 @@ public class Array<T> implements Iterable<T> {
         sb.append('[');
         sb.append(this.items[0]);
 
-        for (int i = 0; i < this.size; i++) {
+        for (int i = 1; i < this.size; i++) {
             sb.append(", ").append(this.items[i]);
         }
 
@@ -701,84 +1079,200 @@ public class Array<T> implements Iterable<T> {
         return sb.toString();
     }
 
-    static class ArrayIterator<T> implements Iterator<T>, Iterable<T> {
+    static final class ListView<T> extends AbstractList<T> implements RandomAccess {
         private final Array<T> array;
-        private final boolean allowRemove;
-        int index;
-        boolean valid = true;
 
-        public ArrayIterator(Array<T> array) {
-            this(array, true);
+        ListView(Array<T> array) {
+            this.array = array;
         }
 
-        public ArrayIterator(Array<T> array, boolean allowRemove) {
-            this.array = array;
-            this.allowRemove = allowRemove;
+        @Override
+        public T get(int index) {
+            return this.array.get(index);
         }
 
         @Override
-        public boolean hasNext() {
-            Preconditions.checkState(this.valid, "#iterator() cannot be used nested.");
+        public T set(int index, T element) {
+            final T previous = this.array.get(index);
+            this.array.set(index, element);
+            return previous;
+        }
 
-            return this.index < this.array.size;
+        @Override
+        public boolean add(T element) {
+            this.array.add(element);
+            this.modCount++;
+            return true;
         }
 
         @Override
-        public T next() {
-            Preconditions.checkElementIndex(this.index, this.array.size, String.valueOf(this.index));
-            Preconditions.checkState(this.valid, "#iterator() cannot be used nested.");
+        public void add(int index, T element) {
+            this.array.insert(index, element);
+            this.modCount++;
+        }
 
-            return this.array.items[this.index++];
+        @Override
+        public T remove(int index) {
+            final T removed = this.array.removeIndex(index);
+            this.modCount++;
+            return removed;
         }
 
         @Override
-        public void remove() {
-            Preconditions.checkState(this.allowRemove, "#remove() is Disallowed");
+        public int size() {
+            return this.array.size;
+        }
+
+        @Override
+        public void clear() {
+            this.array.clear();
+            this.modCount++;
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends T> c) {
+            final int before = this.array.size;
+            this.array.addAll(c);
+            this.modCount++;
+            return this.array.size != before;
+        }
 
-            this.index--;
-            this.array.removeIndex(this.index);
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean addAll(int index, Collection<? extends T> c) {
+            final Array<T> array = this.array;
+            Preconditions.checkElementIndex(index, array.size + 1);
+
+            final Object[] values = c.toArray();
+            final int count = values.length;
+            if (count == 0) return false;
+
+            if ((array.getClass() != Array.class) || (!array.ordered && (index != array.size))) {
+                // Subclasses must see every insert, and unordered inserts move elements around anyway
+                for (int i = 0; i < count; i++)
+                    array.insert(index + i, (T) values[i]);
+            } else {
+                array.ensureCapacity(count);
+                System.arraycopy(array.items, index, array.items, index + count, array.size - index);
+                System.arraycopy(values, 0, array.items, index, count);
+                array.size += count;
+            }
+
+            this.modCount++;
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public int indexOf(Object o) {
+            return this.array.indexOf((T) o, false);
         }
 
-        public void reset() {
-            this.index = 0;
+        @Override
+        @SuppressWarnings("unchecked")
+        public int lastIndexOf(Object o) {
+            return this.array.lastIndexOf((T) o, false);
         }
 
         @Override
-        public Iterator<T> iterator() {
-            return this;
+        public boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
+
+        @Override
+        public Object[] toArray() {
+            final Object[] result = new Object[this.array.size];
+            System.arraycopy(this.array.items, 0, result, 0, result.length);
+            return result;
+        }
+
+        @Override
+        public void forEach(Consumer<? super T> action) {
+            this.array.forEach(action);
+        }
+
+        @Override
+        public void sort(Comparator<? super T> c) {
+            // In place on the backing array rather than through a copy
+            if (c == null) this.array.sort();
+            else this.array.sort(c);
+            this.modCount++;
+        }
+
+        @Override
+        public Spliterator<T> spliterator() {
+            return this.array.spliterator();
         }
     }
 
-    static class ArrayIterable<T> implements Iterable<T> {
-        private final Array<T> array;
-        private final boolean allowRemove;
-        private ArrayIterator<T> iterator1, iterator2;
+    static final class ArrayIterator<T> implements Iterator<T> {
+        private static final int POOL_SIZE = 8;
+        private static final ThreadLocal<Pool> pools = ThreadLocal.withInitial(Pool::new);
+
+        @SuppressWarnings("unchecked")
+        static <T> ArrayIterator<T> obtain(Array<T> array) {
+            final Pool pool = pools.get();
+            final ArrayIterator<T> iterator = pool.count > 0 ? (ArrayIterator<T>) pool.free[--pool.count] : new ArrayIterator<>();
 
-        public ArrayIterable(Array<T> array) {
-            this(array, true);
+            iterator.array = array;
+            iterator.index = 0;
+            iterator.busy = true;
+            return iterator;
         }
 
-        public ArrayIterable(Array<T> array, boolean allowRemove) {
-            this.array = array;
-            this.allowRemove = allowRemove;
+        /**
+         * Id of the thread that may reuse this iterator while it is its Array's cached iterator. Only meaningful
+         * then, the Array dropping it is what makes it a pooled iterator.
+         */
+        long owner = -1;
+
+        Array<T> array;
+        int index;
+        boolean busy;
+
+        @Override
+        public boolean hasNext() {
+            if (!this.busy) return false;
+            if (this.index < this.array.size) return true;
+
+            release();
+            return false;
         }
 
         @Override
-        public Iterator<T> iterator() {
-            if (this.iterator1 == null) {
-                this.iterator1 = new ArrayIterator<>(this.array, this.allowRemove);
-                this.iterator2 = new ArrayIterator<>(this.array, this.allowRemove);
-            }
-            if (!this.iterator1.valid) {
-                this.iterator1.index = 0;
-                this.iterator1.valid = true;
-                this.iterator2.valid = false;
-                return this.iterator1;
-            }
-            this.iterator2.index = 0;
-            this.iterator2.valid = true;
-            this.iterator1.valid = false;
-            return this.iterator2;
+        public T next() {
+            if (!this.busy || (this.index >= this.array.size))
+                throw new NoSuchElementException();
+
+            return this.array.items[this.index++];
+        }
+
+        @Override
+        public void remove() {
+            Preconditions.checkState(this.busy && (this.index > 0), "next() must be called before remove()");
+
+            // Only step back if the element really went, a DelayedRemovalArray may just record it
+            final int size = this.array.size;
+            this.array.removeIndex(this.index - 1);
+            if (this.array.size != size)
+                this.index--;
+        }
+
+        private void release() {
+            this.busy = false;
+            if (this.array.iterator == this) return;
+
+            // Pooled iterators must not keep the Array reachable
+            this.array = null;
+
+            final Pool pool = pools.get();
+            if (pool.count < POOL_SIZE)
+                pool.free[pool.count++] = this;
+        }
+
+        private static final class Pool {
+            final ArrayIterator<?>[] free = new ArrayIterator<?>[POOL_SIZE];
+            int count;
         }
     }
 }
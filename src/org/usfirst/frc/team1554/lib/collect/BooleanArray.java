@@ -0,0 +1,616 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.collect;
+
+import org.usfirst.frc.team1554.lib.math.MathUtils;
+import org.usfirst.frc.team1554.lib.util.Preconditions;
+
+/**
+ * A resizable, ordered or unordered array of {@code boolean}s. The {@code boolean} counterpart to {@link Array}, every value is
+ * stored directly in {@link #items} so nothing is ever boxed. If unordered then removal moves the last element into the
+ * removed position instead of shifting the array.
+ *
+ * @author Glossawy
+ */
+public class BooleanArray implements MemoryAccountable {
+
+    /**
+     * Returns an Ordered Array consisting of the provided elements.
+     *
+     * @param array Elements to initialize with
+     * @return Ordered Array with initial elements
+     */
+    public static BooleanArray with(boolean... array) {
+        return new BooleanArray(array);
+    }
+
+    public boolean[] items;
+
+    private int size;
+    private boolean ordered;
+    private GrowthPolicy growth = GrowthPolicy.DEFAULT;
+
+    /**
+     * Create an empty ordered array.
+     */
+    public BooleanArray() {
+        this(true, 16);
+    }
+
+    /**
+     * Create an empty ordered array with the given capacity.
+     *
+     * @param capacity Initial size of array
+     */
+    public BooleanArray(int capacity) {
+        this(true, capacity);
+    }
+
+    /**
+     * Create an empty, ordered or unordered array.
+     *
+     * @param ordered  Whether or not order should be maintained
+     * @param capacity Initial size of array
+     */
+    public BooleanArray(boolean ordered, int capacity) {
+        this.ordered = ordered;
+        this.items = new boolean[capacity];
+    }
+
+    /**
+     * Creates a copy of the given Array
+     *
+     * @param array Array to Copy
+     */
+    public BooleanArray(BooleanArray array) {
+        this(array.ordered, array.size);
+        this.size = array.size;
+        System.arraycopy(array.items, 0, this.items, 0, this.size);
+    }
+
+    /**
+     * Copies the given array in to a new ordered Array.
+     *
+     * @param array Array to copy
+     */
+    public BooleanArray(boolean[] array) {
+        this(true, array, 0, array.length);
+    }
+
+    /**
+     * Copies an array or sub-array in to a new Array, ordered or unordered.
+     *
+     * @param ordered Whether or not order should be maintained
+     * @param arr     Array to copy
+     * @param start   Start Index
+     * @param count   Number of Elements to Copy
+     */
+    public BooleanArray(boolean ordered, boolean[] arr, int start, int count) {
+        this(ordered, count);
+        checkRange(start, count, arr.length);
+
+        this.size = count;
+        System.arraycopy(arr, start, this.items, 0, count);
+    }
+
+    /**
+     * Append a given value to the Array
+     *
+     * @param value Value to Append
+     */
+    public void add(boolean value) {
+        boolean[] items = this.items;
+
+        // Resize if no room available, as much as the growth policy says
+        if (this.size == items.length) {
+            items = resize(this.growth.grow(this.size + 1));
+        }
+
+        items[this.size++] = value;
+    }
+
+    /**
+     * Append entire Array to this Array
+     *
+     * @param array Array of Values to Append
+     */
+    public void addAll(BooleanArray array) {
+        addAll(array.items, 0, array.size);
+    }
+
+    /**
+     * Append an entire Array or subsequence of the Array to this Array, starting at 'start' and copying 'count' values.
+     *
+     * @param array Array to Copy From
+     * @param start Start Index
+     * @param count Number of Elements to Copy
+     */
+    public void addAll(BooleanArray array, int start, int count) {
+        checkRange(start, count, array.size);
+
+        addAll(array.items, start, count);
+    }
+
+    /**
+     * Append an entire array of values to this Array
+     *
+     * @param array Array to append
+     */
+    public void addAll(boolean... array) {
+        addAll(array, 0, array.length);
+    }
+
+    /**
+     * Append an entire array or sub-array to this Array with a single {@link System#arraycopy}.
+     *
+     * @param array Array to append
+     * @param start Start Index
+     * @param count Number of Elements to Copy
+     */
+    public void addAll(boolean[] array, int start, int count) {
+        checkRange(start, count, array.length);
+
+        final int requirement = this.size + count;
+        if (requirement > this.items.length) {
+            resize(this.growth.grow(requirement));
+        }
+
+        System.arraycopy(array, start, this.items, this.size, count);
+        this.size += count;
+    }
+
+    /**
+     * Get an element at the given index. This is only defined when the Array is ordered. Unordered Arrays may have
+     * unexpected behavior.
+     *
+     * @param index Index of element
+     * @return Element at Index
+     */
+    public boolean get(int index) {
+        Preconditions.checkElementIndex(index, this.size);
+
+        return this.items[index];
+    }
+
+    /**
+     * Puts a value at the given index.
+     *
+     * @param index Index to Put
+     * @param value Element to Put
+     */
+    public void set(int index, boolean value) {
+        Preconditions.checkElementIndex(index, this.size);
+
+        this.items[index] = value;
+    }
+
+    /**
+     * Inserts a value into the array at the given Index
+     *
+     * @param index Index to insert at
+     * @param value Element to insert
+     */
+    public void insert(int index, boolean value) {
+        Preconditions.checkElementIndex(index, this.size + 1);
+
+        boolean[] items = this.items;
+        if (this.size == items.length) {
+            items = resize(this.growth.grow(this.size + 1));
+        }
+
+        if (this.ordered) {
+            System.arraycopy(items, index, items, index + 1, this.size - index);
+        } else {
+            items[this.size] = items[index];
+        }
+
+        this.size++;
+        items[index] = value;
+    }
+
+    /**
+     * Swap two elements given the indices
+     *
+     * @param first  First Index
+     * @param second Second Index
+     */
+    public void swap(int first, int second) {
+        Preconditions.checkElementIndex(first, this.size);
+        Preconditions.checkElementIndex(second, this.size);
+
+        final boolean[] items = this.items;
+        final boolean fVal = items[first];
+        items[first] = items[second];
+        items[second] = fVal;
+    }
+
+    /**
+     * @param value Value to check for
+     * @return True if the value is in this Array
+     */
+    public boolean contains(boolean value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * Obtains the index of a value in the Array. If it does not exist in the array, -1 is returned (akin to Collections)
+     *
+     * @param value Value to find
+     * @return Index of Value in Array
+     */
+    public int indexOf(boolean value) {
+        final boolean[] items = this.items;
+
+        for (int i = 0, n = this.size; i < n; i++)
+            if (items[i] == value) return i;
+
+        return -1;
+    }
+
+    /**
+     * Find the last index of a particular value in the array.
+     *
+     * @param value Value to Locate
+     * @return The last index at which the value can be found. Or -1.
+     */
+    public int lastIndexOf(boolean value) {
+        final boolean[] items = this.items;
+
+        for (int i = this.size - 1; i >= 0; i--)
+            if (items[i] == value) return i;
+
+        return -1;
+    }
+
+    /**
+     * Removes a value from the Array by first locating it.
+     *
+     * @param value Value to Remove
+     * @return True if removed, false otherwise.
+     */
+    public boolean removeValue(boolean value) {
+        final int index = indexOf(value);
+
+        if (index < 0) return false;
+
+        removeIndex(index);
+        return true;
+    }
+
+    /**
+     * Remove element at a particular index.
+     *
+     * @param index Index of Array
+     * @return Element at that index, before removal.
+     */
+    public boolean removeIndex(int index) {
+        Preconditions.checkElementIndex(index, this.size);
+
+        final boolean[] items = this.items;
+        final boolean value = items[index];
+
+        this.size--;
+        if (this.ordered) {
+            System.arraycopy(items, index + 1, items, index, this.size - index);
+        } else {
+            items[index] = items[this.size];
+        }
+
+        return value;
+    }
+
+    /**
+     * Remove a particular range of elements given a start and end index, both inclusive.
+     *
+     * @param start Start Index
+     * @param end   End Index
+     */
+    public void removeRange(int start, int end) {
+        Preconditions.checkElementIndex(end, this.size);
+        Preconditions.checkElementIndex(start, end + 1);
+
+        final boolean[] items = this.items;
+        final int count = (end - start) + 1;
+
+        if (this.ordered) {
+            System.arraycopy(items, start + count, items, start, this.size - (start + count));
+        } else {
+            // Fill the hole with the tail, never moving more than the hole or the tail holds
+            final int moved = Math.min(count, this.size - (end + 1));
+            System.arraycopy(items, this.size - moved, items, start, moved);
+        }
+
+        this.size -= count;
+    }
+
+    /**
+     * Remove the first occurrence of each value in the given array from this array.
+     *
+     * @param array Other Array
+     * @return True if modified, false otherwise.
+     */
+    public boolean removeAll(BooleanArray array) {
+        final int startSize = this.size;
+        final boolean[] values = array.items;
+
+        for (int i = 0, n = array.size; i < n; i++) {
+            final int index = indexOf(values[i]);
+            if (index >= 0)
+                removeIndex(index);
+        }
+
+        return this.size != startSize;
+    }
+
+    /**
+     * Pop an element off the top of this array. Identical to the Stack pop() operation.
+     *
+     * @return Popped Element
+     */
+    public boolean pop() {
+        Preconditions.checkState(this.size != 0, "No Elements to Pop!");
+
+        return this.items[--this.size];
+    }
+
+    /**
+     * Returns but does not remove the element at the top of this Array. Identical to the Stack peek() operation
+     *
+     * @return Element at top of Array
+     */
+    public boolean peek() {
+        Preconditions.checkState(this.size != 0, "No Elements to Peek!");
+
+        return this.items[this.size - 1];
+    }
+
+    /**
+     * Returns but does not remove the first element of this Array.
+     *
+     * @return First element of array (index 0)
+     */
+    public boolean first() {
+        Preconditions.checkState(this.size != 0, "No elements to Get!");
+
+        return this.items[0];
+    }
+
+    /**
+     * @return True if there are no elements
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Sets size to 0. In order to shrink the explicit length of the internal array, {@link #shrink()} should be called
+     * after this.
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * Shrinks the internal array down to the absolute minimal size while maintaining order and content.
+     *
+     * @return This Array for Chaining
+     */
+    public BooleanArray shrink() {
+        if (this.items.length != this.size) {
+            resize(this.size);
+        }
+
+        return this;
+    }
+
+    /**
+     * Ensure Capacity by adding additional capacity, if necessary the Array is resized to account for this.
+     *
+     * @param additionalCapacity Additional Capacity to add
+     * @return this array for chaining
+     */
+    public BooleanArray ensureCapacity(int additionalCapacity) {
+        final int newSize = this.size + additionalCapacity;
+        if (newSize > this.items.length) {
+            resize(this.growth.grow(newSize));
+        }
+
+        return this;
+    }
+
+    /**
+     * Current Size of Array, as number of elements and not literal internal array length.
+     *
+     * @return Size of Array
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return True if initialized as an ordered array, false otherwise.
+     */
+    public boolean ordered() {
+        return this.ordered;
+    }
+
+    @Override
+    public int capacity() {
+        return this.items.length;
+    }
+
+    @Override
+    public long estimatedRetainedBytes() {
+        return MemoryEstimate.object((2 * MemoryEstimate.REFERENCE_BYTES) + 5) + MemoryEstimate.array(this.items.length, 1);
+    }
+
+    /**
+     * Sets how this Array grows when it runs out of room, {@link GrowthPolicy#DEFAULT} unless changed.
+     *
+     * @param growth Growth Policy
+     * @return This Array for Chaining
+     */
+    public BooleanArray setGrowthPolicy(GrowthPolicy growth) {
+        this.growth = Preconditions.checkNotNull(growth);
+        return this;
+    }
+
+    public GrowthPolicy getGrowthPolicy() {
+        return this.growth;
+    }
+
+    /**
+     * Shrinks the backing array to the current size if more slots are unused than the growth policy's maxWaste allows.
+     *
+     * @return True if the backing array was shrunk
+     */
+    public boolean trimWaste() {
+        if (!this.growth.isWasteful(this.size, this.items.length)) return false;
+
+        resize(this.size);
+        return true;
+    }
+
+    protected boolean[] resize(int newSize) {
+        final boolean[] newItems = new boolean[newSize];
+
+        System.arraycopy(this.items, 0, newItems, 0, Math.min(this.size, newSize));
+        this.items = newItems;
+        return newItems;
+    }
+
+    /**
+     * Reverses the order of the array.
+     *
+     * @return This Array for Chaining
+     */
+    public BooleanArray reverse() {
+        final boolean[] items = this.items;
+
+        for (int i = 0, last = this.size - 1, n = this.size / 2; i < n; i++) {
+            final int j = last - i;
+            final boolean temp = items[i];
+            items[i] = items[j];
+            items[j] = temp;
+        }
+
+        return this;
+    }
+
+    /**
+     * Shuffles the order of the Array using a fisher-yates shuffle.
+     *
+     * @return This Array for Chaining
+     */
+    public BooleanArray shuffle() {
+        final boolean[] items = this.items;
+
+        for (int i = this.size - 1; i >= 0; i--) {
+            final int j = MathUtils.random(i);
+            final boolean temp = items[i];
+            items[i] = items[j];
+            items[j] = temp;
+        }
+
+        return this;
+    }
+
+    /**
+     * Truncates array to newSize. If size <= newSize then nothing happens
+     *
+     * @param newSize Size to truncate to
+     */
+    public void truncate(int newSize) {
+        if (this.size > newSize)
+            this.size = newSize;
+    }
+
+    /**
+     * Returns a random element obtained using {@link MathUtils#random(int)}
+     *
+     * @return Random Element in Array
+     */
+    public boolean random() {
+        Preconditions.checkState(this.size != 0, "No Elements to Select From!");
+
+        return this.items[MathUtils.random(this.size - 1)];
+    }
+
+    /**
+     * @return Copy of the Items, exactly {@link #size()} long
+     */
+    public boolean[] toArray() {
+        final boolean[] result = new boolean[this.size];
+        System.arraycopy(this.items, 0, result, 0, this.size);
+        return result;
+    }
+
+    @Override
+    public int hashCode() {
+        final boolean[] items = this.items;
+        int result = 17;
+
+        result = (37 * result) + this.size;
+        for (int i = 0, n = this.size; i < n; i++)
+            result = (37 * result) + (items[i] ? 1231 : 1237);
+
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (object == this) return true;
+        if (!(object instanceof BooleanArray)) return false;
+
+        final BooleanArray arr = (BooleanArray) object;
+        if (this.size != arr.size) return false;
+
+        final boolean[] i1 = this.items;
+        final boolean[] i2 = arr.items;
+
+        for (int i = 0; i < this.size; i++)
+            if (i1[i] != i2[i])
+                return false;
+
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        if (this.size == 0) return "[]";
+
+        final boolean[] items = this.items;
+        final StringBuilder sb = new StringBuilder(this.size * 6);
+        sb.append('[').append(items[0]);
+
+        for (int i = 1; i < this.size; i++) {
+            sb.append(", ").append(items[i]);
+        }
+
+        return sb.append(']').toString();
+    }
+
+    private static void checkRange(int start, int count, int length) {
+        Preconditions.checkElementIndex(start, length + 1);
+        Preconditions.checkElementIndex(start + count, length + 1, "start + count MUST be <= length! Length: " + length);
+    }
+}
@@ -0,0 +1,519 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.collect;
+
+import org.usfirst.frc.team1554.lib.math.MathUtils;
+import org.usfirst.frc.team1554.lib.util.Preconditions;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+
+/**
+ * A thread safe, unordered map that is split in to lock striped segments. Each segment is an open addressed, linearly
+ * probed table stored in a single {@link AtomicReferenceArray} with keys and values in alternating slots, so like
+ * {@link ObjectMap} no entry objects are allocated. <br />
+ * <br />
+ * Writers lock only the segment the key hashes to, so writers on different segments never contend. Readers take no
+ * lock at all: a value is published before its key, a removed key is replaced by a tombstone that is never reused in
+ * place, and a segment that grows or sheds its tombstones is rebuilt in to a new table that is published whole. A
+ * reader that matches a key therefore always reads that key's value, or null if it was removed in the meantime. <br />
+ * <br />
+ * Null keys and values are not allowed. Iteration is weakly consistent: it never throws
+ * {@link java.util.ConcurrentModificationException}, sees every entry present for its whole duration and may or may
+ * not see concurrent changes. {@link #size()} is likewise a sum over the segments and only exact when the map is
+ * quiescent.
+ *
+ * @author Glossawy
+ */
+public class ConcurrentObjectMap<K, V> implements Iterable<ConcurrentObjectMap.Entry<K, V>> {
+
+    private static final Object TOMBSTONE = new Object();
+    private static final int MIN_SEGMENT_CAPACITY = 8;
+
+    private final Segment[] segments;
+    private final int segmentShift, segmentMask;
+    private final float loadFactor;
+
+    /**
+     * Creates a new map with an initial capacity of 64, a load factor of 0.5 and 16 segments.
+     */
+    public ConcurrentObjectMap() {
+        this(64, 0.5f, 16);
+    }
+
+    /**
+     * Creates a new map with a load factor of 0.5 and 16 segments.
+     */
+    public ConcurrentObjectMap(int initialCapacity) {
+        this(initialCapacity, 0.5f, 16);
+    }
+
+    /**
+     * @param initialCapacity  Number of entries to size the map for, spread over all segments
+     * @param loadFactor       Fraction of a segment's table, counting tombstones, used before it is rebuilt
+     * @param concurrencyLevel Estimated number of concurrently writing threads, rounded up to a power of two segments
+     */
+    public ConcurrentObjectMap(int initialCapacity, float loadFactor, int concurrencyLevel) {
+        Preconditions.checkExpression(initialCapacity >= 0, "initialCapacity must be >= 0: " + initialCapacity);
+        Preconditions.checkExpression((loadFactor > 0) && (loadFactor < 1), "loadFactor must be in (0, 1): " + loadFactor);
+        Preconditions.checkExpression((concurrencyLevel > 0) && (concurrencyLevel <= (1 << 16)), "concurrencyLevel must be in [1, 65536]: " + concurrencyLevel);
+
+        final int segmentCount = MathUtils.nextPowerOfTwo(concurrencyLevel);
+        final int perSegment = (int) Math.ceil(((double) initialCapacity / segmentCount) / loadFactor);
+
+        this.loadFactor = loadFactor;
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+        this.segmentMask = segmentCount - 1;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            this.segments[i] = new Segment(Math.max(MIN_SEGMENT_CAPACITY, MathUtils.nextPowerOfTwo(perSegment)), loadFactor);
+        }
+    }
+
+    /**
+     * @return The value for the key, or null if the key is not in the map
+     */
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        final int hash = hash(key);
+        final AtomicReferenceArray<Object> table = segmentFor(hash).table;
+        final int index = find(table, key, hash);
+        return index < 0 ? null : (V) table.get(index + 1);
+    }
+
+    /**
+     * @return The value for the key, or the default value if the key is not in the map
+     */
+    public V get(Object key, V defaultValue) {
+        final V value = get(key);
+        return value == null ? defaultValue : value;
+    }
+
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Associates the value with the key, replacing any previous value.
+     *
+     * @return The previous value, or null if there was none
+     */
+    public V put(K key, V value) {
+        return put(key, value, false);
+    }
+
+    /**
+     * Associates the value with the key only if the key is not already in the map.
+     *
+     * @return The current value, or null if the value was put
+     */
+    public V putIfAbsent(K key, V value) {
+        return put(key, value, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V put(K key, V value, boolean onlyIfAbsent) {
+        Preconditions.checkNotNull(key, "Key Cannot Be Null!");
+        Preconditions.checkNotNull(value, "Value Cannot Be Null!");
+
+        final int hash = hash(key);
+        final Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            AtomicReferenceArray<Object> table = segment.table;
+            final int index = find(table, key, hash);
+            if (index >= 0) {
+                final V oldValue = (V) table.get(index + 1);
+                if (!onlyIfAbsent) {
+                    table.set(index + 1, value);
+                }
+                return oldValue;
+            }
+
+            if (segment.used >= segment.threshold) {
+                segment.rebuild(this.loadFactor);
+                table = segment.table;
+            }
+
+            // Value first, so a reader that sees the key also sees its value
+            final int slot = freeSlot(table, hash);
+            table.set(slot + 1, value);
+            table.set(slot, key);
+            segment.used++;
+            segment.size++;
+            return null;
+        }
+    }
+
+    /**
+     * @return The value that was removed, or null if the key was not in the map
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        if (key == null) return null;
+
+        final int hash = hash(key);
+        final Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            final AtomicReferenceArray<Object> table = segment.table;
+            final int index = find(table, key, hash);
+            if (index < 0) return null;
+
+            final V oldValue = (V) table.get(index + 1);
+            table.set(index, TOMBSTONE);
+            table.set(index + 1, null);
+            segment.size--;
+            return oldValue;
+        }
+    }
+
+    /**
+     * Removes the key only if it is currently mapped to the value, compared with equals.
+     *
+     * @return True if the entry was removed
+     */
+    public boolean remove(Object key, Object value) {
+        if ((key == null) || (value == null)) return false;
+
+        final int hash = hash(key);
+        final Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            final AtomicReferenceArray<Object> table = segment.table;
+            final int index = find(table, key, hash);
+            if ((index < 0) || !value.equals(table.get(index + 1))) return false;
+
+            table.set(index, TOMBSTONE);
+            table.set(index + 1, null);
+            segment.size--;
+            return true;
+        }
+    }
+
+    public int size() {
+        long size = 0;
+        for (final Segment segment : this.segments) {
+            size += segment.size;
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    public boolean isEmpty() {
+        for (final Segment segment : this.segments) {
+            if (segment.size != 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Removes every entry, one segment at a time. Entries put in to an already cleared segment while this runs are
+     * kept.
+     */
+    public void clear() {
+        for (final Segment segment : this.segments) {
+            synchronized (segment) {
+                if (segment.used == 0) continue;
+                segment.reset(MIN_SEGMENT_CAPACITY, this.loadFactor);
+            }
+        }
+    }
+
+    /**
+     * Calls the action with every entry, weakly consistently, without allocating.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Preconditions.checkNotNull(action);
+        for (final Segment segment : this.segments) {
+            final AtomicReferenceArray<Object> table = segment.table;
+            for (int i = 0, n = table.length(); i < n; i += 2) {
+                final Object key = table.get(i);
+                if ((key == null) || (key == TOMBSTONE)) continue;
+
+                final Object value = table.get(i + 1);
+                if (value != null) {
+                    action.accept((K) key, (V) value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the entries. The same entry instance is returned by every call to
+     * next, and remove is supported.
+     */
+    @Override
+    public Entries<K, V> iterator() {
+        return new Entries<>(this);
+    }
+
+    public Keys<K> keys() {
+        return new Keys<>(this);
+    }
+
+    public Values<V> values() {
+        return new Values<>(this);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder buffer = new StringBuilder(32);
+        buffer.append('{');
+        forEach((key, value) -> {
+            if (buffer.length() > 1) buffer.append(", ");
+            buffer.append(key).append('=').append(value);
+        });
+        return buffer.append('}').toString();
+    }
+
+    private Segment segmentFor(int hash) {
+        // The mask covers a single segment, where the shift would be 32 and so a no-op
+        return this.segments[(hash >>> this.segmentShift) & this.segmentMask];
+    }
+
+    /**
+     * Scrambles the hash code so that its high bits, which pick the segment, and its low bits, which pick the bucket,
+     * both depend on every bit of it.
+     */
+    static int hash(Object key) {
+        final int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * @return Slot index of the key in the table, or -1 if it is not there
+     */
+    private static int find(AtomicReferenceArray<Object> table, Object key, int hash) {
+        final int mask = table.length() - 2;
+        for (int i = (hash << 1) & mask; ; i = (i + 2) & mask) {
+            final Object k = table.get(i);
+            if (k == null) return -1;
+            if ((k == key) || ((k != TOMBSTONE) && key.equals(k))) return i;
+        }
+    }
+
+    /**
+     * @return Slot index of the first never used slot for the hash. Tombstones are skipped, not reused.
+     */
+    private static int freeSlot(AtomicReferenceArray<Object> table, int hash) {
+        final int mask = table.length() - 2;
+        int i = (hash << 1) & mask;
+        while (table.get(i) != null) {
+            i = (i + 2) & mask;
+        }
+        return i;
+    }
+
+    private static final class Segment {
+        volatile AtomicReferenceArray<Object> table;
+        volatile int size;
+
+        // Guarded by this segment's monitor
+        int used, threshold;
+
+        Segment(int capacity, float loadFactor) {
+            reset(capacity, loadFactor);
+        }
+
+        void reset(int capacity, float loadFactor) {
+            this.threshold = Math.min(capacity - 1, (int) (capacity * loadFactor));
+            this.used = 0;
+            this.size = 0;
+            this.table = new AtomicReferenceArray<>(capacity << 1);
+        }
+
+        /**
+         * Copies the live entries in to a new table, doubled if they alone would fill half of the current one, and
+         * publishes it. Tombstones are dropped.
+         */
+        void rebuild(float loadFactor) {
+            final AtomicReferenceArray<Object> oldTable = this.table;
+            final int oldCapacity = oldTable.length() >> 1;
+            final int capacity = this.size >= (this.threshold >> 1) ? oldCapacity << 1 : oldCapacity;
+
+            final AtomicReferenceArray<Object> table = new AtomicReferenceArray<>(capacity << 1);
+            for (int i = 0, n = oldTable.length(); i < n; i += 2) {
+                final Object key = oldTable.get(i);
+                if ((key == null) || (key == TOMBSTONE)) continue;
+
+                final int slot = freeSlot(table, hash(key));
+                table.lazySet(slot + 1, oldTable.get(i + 1));
+                table.lazySet(slot, key);
+            }
+
+            this.threshold = Math.min(capacity - 1, (int) (capacity * loadFactor));
+            this.used = this.size;
+            this.table = table;
+        }
+    }
+
+    public static class Entry<K, V> {
+        public K key;
+        public V value;
+
+        @Override
+        public String toString() {
+            return this.key + "=" + this.value;
+        }
+    }
+
+    private static class MapIterator<K, V> {
+        final ConcurrentObjectMap<K, V> map;
+        AtomicReferenceArray<Object> table;
+        int segment = -1, nextIndex, currentIndex = -1;
+        Object nextKey, nextValue, currentKey;
+
+        MapIterator(ConcurrentObjectMap<K, V> map) {
+            this.map = map;
+            advance();
+        }
+
+        /**
+         * Finds the next live entry, taking each segment's table as it is reached.
+         */
+        final void advance() {
+            this.nextKey = null;
+            while (true) {
+                if (this.table != null) {
+                    for (final int n = this.table.length(); this.nextIndex < n; this.nextIndex += 2) {
+                        final Object key = this.table.get(this.nextIndex);
+                        if ((key == null) || (key == TOMBSTONE)) continue;
+
+                        final Object value = this.table.get(this.nextIndex + 1);
+                        if (value == null) continue;
+
+                        this.nextKey = key;
+                        this.nextValue = value;
+                        this.nextIndex += 2;
+                        return;
+                    }
+                }
+
+                if (++this.segment >= this.map.segments.length) return;
+                this.table = this.map.segments[this.segment].table;
+                this.nextIndex = 0;
+            }
+        }
+
+        public boolean hasNext() {
+            return this.nextKey != null;
+        }
+
+        final void step() {
+            if (this.nextKey == null) throw new NoSuchElementException();
+            this.currentKey = this.nextKey;
+        }
+
+        public void remove() {
+            Preconditions.checkState(this.currentKey != null, "next must be called before remove.");
+            this.map.remove(this.currentKey);
+            this.currentKey = null;
+        }
+    }
+
+    public static class Entries<K, V> extends MapIterator<K, V> implements Iterable<Entry<K, V>>, Iterator<Entry<K, V>> {
+        private final Entry<K, V> entry = new Entry<>();
+
+        public Entries(ConcurrentObjectMap<K, V> map) {
+            super(map);
+        }
+
+        /**
+         * Note the same entry instance is returned each time this method is called.
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<K, V> next() {
+            step();
+            this.entry.key = (K) this.nextKey;
+            this.entry.value = (V) this.nextValue;
+            advance();
+            return this.entry;
+        }
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return this;
+        }
+    }
+
+    public static class Keys<K> extends MapIterator<K, Object> implements Iterable<K>, Iterator<K> {
+        @SuppressWarnings("unchecked")
+        public Keys(ConcurrentObjectMap<K, ?> map) {
+            super((ConcurrentObjectMap<K, Object>) map);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public K next() {
+            step();
+            final K key = (K) this.nextKey;
+            advance();
+            return key;
+        }
+
+        @Override
+        public Iterator<K> iterator() {
+            return this;
+        }
+
+        /**
+         * Adds the remaining keys to the array.
+         */
+        public Array<K> toArray(Array<K> array) {
+            while (hasNext()) {
+                array.add(next());
+            }
+            return array;
+        }
+    }
+
+    public static class Values<V> extends MapIterator<Object, V> implements Iterable<V>, Iterator<V> {
+        @SuppressWarnings("unchecked")
+        public Values(ConcurrentObjectMap<?, V> map) {
+            super((ConcurrentObjectMap<Object, V>) map);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V next() {
+            step();
+            final V value = (V) this.nextValue;
+            advance();
+            return value;
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return this;
+        }
+
+        /**
+         * Adds the remaining values to the array.
+         */
+        public Array<V> toArray(Array<V> array) {
+            while (hasNext()) {
+                array.add(next());
+            }
+            return array;
+        }
+    }
+}
@@ -0,0 +1,347 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.collect;
+
+import org.usfirst.frc.team1554.lib.math.MathUtils;
+import org.usfirst.frc.team1554.lib.util.Preconditions;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * A thread safe, unordered set that is split in to lock striped segments, the set counterpart of
+ * {@link ConcurrentObjectMap}. Each segment is an open addressed, linearly probed {@link AtomicReferenceArray} of
+ * keys, so no node is allocated per key. <br />
+ * <br />
+ * {@link #add(Object)} and {@link #remove(Object)} lock only the key's segment, {@link #contains(Object)} takes no lock.
+ * Removed keys leave a tombstone. Unlike the map, where a reader reads a key and then its value, a reader here reads a
+ * single slot per probe, so a tombstone can be reused in place by a later add. A segment that fills up is rebuilt in
+ * to a new table, which is then published whole. <br />
+ * <br />
+ * Null keys are not allowed. Iteration is weakly consistent and {@link #size()} is only exact when the set is
+ * quiescent.
+ *
+ * @author Glossawy
+ */
+public class ConcurrentObjectSet<T> implements Iterable<T> {
+
+    private static final Object TOMBSTONE = new Object();
+    private static final int MIN_SEGMENT_CAPACITY = 8;
+
+    private final Segment[] segments;
+    private final int segmentShift, segmentMask;
+    private final float loadFactor;
+
+    /**
+     * Creates a new set with an initial capacity of 64, a load factor of 0.5 and 16 segments.
+     */
+    public ConcurrentObjectSet() {
+        this(64, 0.5f, 16);
+    }
+
+    /**
+     * Creates a new set with a load factor of 0.5 and 16 segments.
+     */
+    public ConcurrentObjectSet(int initialCapacity) {
+        this(initialCapacity, 0.5f, 16);
+    }
+
+    /**
+     * @param initialCapacity  Number of keys to size the set for, spread over all segments
+     * @param loadFactor       Fraction of a segment's table, counting tombstones, used before it is rebuilt
+     * @param concurrencyLevel Estimated number of concurrently writing threads, rounded up to a power of two segments
+     */
+    public ConcurrentObjectSet(int initialCapacity, float loadFactor, int concurrencyLevel) {
+        Preconditions.checkExpression(initialCapacity >= 0, "initialCapacity must be >= 0: " + initialCapacity);
+        Preconditions.checkExpression((loadFactor > 0) && (loadFactor < 1), "loadFactor must be in (0, 1): " + loadFactor);
+        Preconditions.checkExpression((concurrencyLevel > 0) && (concurrencyLevel <= (1 << 16)), "concurrencyLevel must be in [1, 65536]: " + concurrencyLevel);
+
+        final int segmentCount = MathUtils.nextPowerOfTwo(concurrencyLevel);
+        final int perSegment = (int) Math.ceil(((double) initialCapacity / segmentCount) / loadFactor);
+
+        this.loadFactor = loadFactor;
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+        this.segmentMask = segmentCount - 1;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            this.segments[i] = new Segment(Math.max(MIN_SEGMENT_CAPACITY, MathUtils.nextPowerOfTwo(perSegment)), loadFactor);
+        }
+    }
+
+    public boolean contains(Object key) {
+        if (key == null) return false;
+
+        final int hash = ConcurrentObjectMap.hash(key);
+        return find(segmentFor(hash).table, key, hash) >= 0;
+    }
+
+    /**
+     * Returns true if the key was not already in the set.
+     */
+    public boolean add(T key) {
+        Preconditions.checkNotNull(key, "Key Cannot Be Null!");
+
+        final int hash = ConcurrentObjectMap.hash(key);
+        final Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            AtomicReferenceArray<Object> table = segment.table;
+
+            // The key is absent once an empty slot is reached, and goes in the first tombstone before it if any
+            final int mask = table.length() - 1;
+            int tombstone = -1;
+            for (int i = hash & mask; ; i = (i + 1) & mask) {
+                final Object k = table.get(i);
+                if (k == null) break;
+                if (k == TOMBSTONE) {
+                    if (tombstone < 0) tombstone = i;
+                } else if ((k == key) || key.equals(k)) return false;
+            }
+
+            if (tombstone >= 0) {
+                table.set(tombstone, key);
+                segment.size++;
+                return true;
+            }
+
+            if (segment.used >= segment.threshold) {
+                segment.rebuild(this.loadFactor);
+                table = segment.table;
+            }
+
+            table.set(freeSlot(table, hash), key);
+            segment.used++;
+            segment.size++;
+            return true;
+        }
+    }
+
+    /**
+     * Returns true if the key was removed.
+     */
+    public boolean remove(Object key) {
+        if (key == null) return false;
+
+        final int hash = ConcurrentObjectMap.hash(key);
+        final Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            final AtomicReferenceArray<Object> table = segment.table;
+            final int index = find(table, key, hash);
+            if (index < 0) return false;
+
+            table.set(index, TOMBSTONE);
+            segment.size--;
+            return true;
+        }
+    }
+
+    public int size() {
+        long size = 0;
+        for (final Segment segment : this.segments) {
+            size += segment.size;
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    public boolean isEmpty() {
+        for (final Segment segment : this.segments) {
+            if (segment.size != 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Removes every key, one segment at a time. Keys added to an already cleared segment while this runs are kept.
+     */
+    public void clear() {
+        for (final Segment segment : this.segments) {
+            synchronized (segment) {
+                if (segment.used == 0) continue;
+                segment.reset(MIN_SEGMENT_CAPACITY, this.loadFactor);
+            }
+        }
+    }
+
+    /**
+     * Calls the action with every key, weakly consistently, without allocating.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        Preconditions.checkNotNull(action);
+        for (final Segment segment : this.segments) {
+            final AtomicReferenceArray<Object> table = segment.table;
+            for (int i = 0, n = table.length(); i < n; i++) {
+                final Object key = table.get(i);
+                if ((key != null) && (key != TOMBSTONE)) {
+                    action.accept((T) key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the keys. Remove is supported.
+     */
+    @Override
+    public ConcurrentSetIterator<T> iterator() {
+        return new ConcurrentSetIterator<>(this);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder buffer = new StringBuilder(32);
+        buffer.append('{');
+        forEach(key -> {
+            if (buffer.length() > 1) buffer.append(", ");
+            buffer.append(key);
+        });
+        return buffer.append('}').toString();
+    }
+
+    private Segment segmentFor(int hash) {
+        // The mask covers a single segment, where the shift would be 32 and so a no-op
+        return this.segments[(hash >>> this.segmentShift) & this.segmentMask];
+    }
+
+    /**
+     * @return Index of the key in the table, or -1 if it is not there
+     */
+    private static int find(AtomicReferenceArray<Object> table, Object key, int hash) {
+        final int mask = table.length() - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            final Object k = table.get(i);
+            if (k == null) return -1;
+            if ((k == key) || ((k != TOMBSTONE) && key.equals(k))) return i;
+        }
+    }
+
+    /**
+     * @return Index of the first never used slot for the hash
+     */
+    private static int freeSlot(AtomicReferenceArray<Object> table, int hash) {
+        final int mask = table.length() - 1;
+        int i = hash & mask;
+        while (table.get(i) != null) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private static final class Segment {
+        volatile AtomicReferenceArray<Object> table;
+        volatile int size;
+
+        // Guarded by this segment's monitor
+        int used, threshold;
+
+        Segment(int capacity, float loadFactor) {
+            reset(capacity, loadFactor);
+        }
+
+        void reset(int capacity, float loadFactor) {
+            this.threshold = Math.min(capacity - 1, (int) (capacity * loadFactor));
+            this.used = 0;
+            this.size = 0;
+            this.table = new AtomicReferenceArray<>(capacity);
+        }
+
+        /**
+         * Copies the live keys in to a new table, doubled if they alone would fill half of the current one, and
+         * publishes it. Tombstones are dropped.
+         */
+        void rebuild(float loadFactor) {
+            final AtomicReferenceArray<Object> oldTable = this.table;
+            final int oldCapacity = oldTable.length();
+            final int capacity = this.size >= (this.threshold >> 1) ? oldCapacity << 1 : oldCapacity;
+
+            final AtomicReferenceArray<Object> table = new AtomicReferenceArray<>(capacity);
+            for (int i = 0; i < oldCapacity; i++) {
+                final Object key = oldTable.get(i);
+                if ((key != null) && (key != TOMBSTONE)) {
+                    table.lazySet(freeSlot(table, ConcurrentObjectMap.hash(key)), key);
+                }
+            }
+
+            this.threshold = Math.min(capacity - 1, (int) (capacity * loadFactor));
+            this.used = this.size;
+            this.table = table;
+        }
+    }
+
+    public static class ConcurrentSetIterator<K> implements Iterator<K> {
+        private final ConcurrentObjectSet<K> set;
+        private AtomicReferenceArray<Object> table;
+        private int segment = -1, nextIndex;
+        private Object nextKey, currentKey;
+
+        public ConcurrentSetIterator(ConcurrentObjectSet<K> set) {
+            this.set = set;
+            advance();
+        }
+
+        /**
+         * Finds the next live key, taking each segment's table as it is reached.
+         */
+        private void advance() {
+            this.nextKey = null;
+            while (true) {
+                if (this.table != null) {
+                    for (final int n = this.table.length(); this.nextIndex < n; this.nextIndex++) {
+                        final Object key = this.table.get(this.nextIndex);
+                        if ((key != null) && (key != TOMBSTONE)) {
+                            this.nextKey = key;
+                            this.nextIndex++;
+                            return;
+                        }
+                    }
+                }
+
+                if (++this.segment >= this.set.segments.length) return;
+                this.table = this.set.segments[this.segment].table;
+                this.nextIndex = 0;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.nextKey != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public K next() {
+            if (this.nextKey == null) throw new NoSuchElementException();
+
+            this.currentKey = this.nextKey;
+            advance();
+            return (K) this.currentKey;
+        }
+
+        @Override
+        public void remove() {
+            Preconditions.checkState(this.currentKey != null, "next must be called before remove.");
+            this.set.remove(this.currentKey);
+            this.currentKey = null;
+        }
+    }
+}
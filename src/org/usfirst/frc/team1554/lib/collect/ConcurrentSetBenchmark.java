@@ -0,0 +1,227 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.collect;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Contention benchmark comparing {@link ConcurrentObjectSet} to {@link ConcurrentHashMap#newKeySet()} under a mixed
+ * read/write load. Run it with {@code java -cp <classes> org.usfirst.frc.team1554.lib.collect.ConcurrentSetBenchmark}
+ * on the machine you care about, the numbers only mean anything next to each other. <br />
+ * <br />
+ * Each run pre-fills half of a fixed key space, then every thread performs the same number of operations on random
+ * keys: the given percentage are writes, split evenly between add and remove, the rest are contains. Reported are the
+ * best throughput of several runs and the bytes allocated by the worker threads where the JVM can measure them.
+ *
+ * @author Glossawy
+ */
+final class ConcurrentSetBenchmark {
+
+    private static final int[] WRITE_PERCENTAGES = {10, 50};
+    private static final int[] THREADS = {1, 2, 4, 8};
+    private static final int TOTAL_OPERATIONS = 2_000_000;
+    private static final int WARMUP_RUNS = 3;
+    private static final int RUNS = 5;
+
+    private static final Integer[] KEYS = new Integer[1 << 16];
+
+    // Consumes the contains results so the JIT cannot drop the lookups
+    private static volatile long sink;
+
+    static {
+        for (int i = 0; i < KEYS.length; i++)
+            KEYS[i] = i * 7919;
+    }
+
+    private ConcurrentSetBenchmark() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        final Result result = new Result();
+
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            run(ours(), 2, 10, result);
+            run(theirs(), 2, 10, result);
+        }
+
+        for (final int writes : WRITE_PERCENTAGES) {
+            for (final int threads : THREADS) {
+                final Result ours = best(true, threads, writes);
+                final Result theirs = best(false, threads, writes);
+
+                System.out.printf("writes=%2d%% threads=%d  ConcurrentObjectSet %8.0f ops/ms %s   ConcurrentHashMap.newKeySet %8.0f ops/ms %s%n",
+                        writes, threads, ours.throughput, ours.allocation(), theirs.throughput, theirs.allocation());
+            }
+        }
+    }
+
+    private static Result best(boolean ours, int threads, int writes) throws InterruptedException {
+        final Result best = new Result();
+        final Result result = new Result();
+
+        for (int i = 0; i < RUNS; i++) {
+            run(ours ? ours() : theirs(), threads, writes, result);
+
+            if (result.throughput > best.throughput) {
+                best.throughput = result.throughput;
+                best.allocated = result.allocated;
+            }
+        }
+
+        return best;
+    }
+
+    private static void run(Operations set, int threads, int writes, Result result) throws InterruptedException {
+        for (int i = 0; i < KEYS.length; i += 2)
+            set.add(KEYS[i]);
+
+        final int operations = TOTAL_OPERATIONS / threads;
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        final com.sun.management.ThreadMXBean allocations = bean instanceof com.sun.management.ThreadMXBean ? (com.sun.management.ThreadMXBean) bean : null;
+
+        final CountDownLatch start = new CountDownLatch(1);
+        final Thread[] workers = new Thread[threads];
+        final long[] allocated = new long[threads];
+        final int[] hits = new int[threads];
+
+        for (int t = 0; t < threads; t++) {
+            final int id = t;
+
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (final InterruptedException e) {
+                    return;
+                }
+
+                final long before = allocations == null ? 0 : allocations.getThreadAllocatedBytes(Thread.currentThread().getId());
+
+                // Counted locally and published once, a shared array would put every worker on the same cache line
+                int found = 0;
+
+                // Xorshift so that picking keys neither allocates nor contends
+                int x = 0x9E3779B9 * (id + 1);
+                for (int i = 0; i < operations; i++) {
+                    x ^= x << 13;
+                    x ^= x >>> 17;
+                    x ^= x << 5;
+
+                    final Integer key = KEYS[x & (KEYS.length - 1)];
+                    final int op = (x >>> 20) % 100;
+
+                    if (op < (writes / 2)) set.add(key);
+                    else if (op < writes) set.remove(key);
+                    else if (set.contains(key)) found++;
+                }
+
+                hits[id] = found;
+
+                allocated[id] = allocations == null ? -1 : allocations.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+            }, "benchmark-" + t);
+
+            workers[t].start();
+        }
+
+        final long begin = System.nanoTime();
+        start.countDown();
+        for (final Thread worker : workers)
+            worker.join();
+        final long elapsed = System.nanoTime() - begin;
+
+        long total = 0;
+        for (final long bytes : allocated)
+            total = (bytes < 0 || total < 0) ? -1 : total + bytes;
+
+        long found = 0;
+        for (final int count : hits)
+            found += count;
+        sink += found;
+
+        result.throughput = (operations * (double) threads) / (elapsed / 1e6);
+        result.allocated = total;
+    }
+
+    private static Operations ours() {
+        final ConcurrentObjectSet<Integer> set = new ConcurrentObjectSet<>();
+
+        return new Operations() {
+            @Override
+            public boolean add(Integer key) {
+                return set.add(key);
+            }
+
+            @Override
+            public boolean remove(Integer key) {
+                return set.remove(key);
+            }
+
+            @Override
+            public boolean contains(Integer key) {
+                return set.contains(key);
+            }
+        };
+    }
+
+    private static Operations theirs() {
+        final Set<Integer> set = ConcurrentHashMap.newKeySet();
+
+        return new Operations() {
+            @Override
+            public boolean add(Integer key) {
+                return set.add(key);
+            }
+
+            @Override
+            public boolean remove(Integer key) {
+                return set.remove(key);
+            }
+
+            @Override
+            public boolean contains(Integer key) {
+                return set.contains(key);
+            }
+        };
+    }
+
+    /**
+     * The operations measured, ConcurrentObjectSet is not a {@link Set} so both sides are adapted to this.
+     */
+    private interface Operations {
+        boolean add(Integer key);
+
+        boolean remove(Integer key);
+
+        boolean contains(Integer key);
+    }
+
+    private static final class Result {
+        double throughput;
+        long allocated;
+
+        String allocation() {
+            return this.allocated < 0 ? "(allocation unknown)" : String.format("(%6.1f MB allocated)", this.allocated / 1e6);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.collect;
+
+import org.usfirst.frc.team1554.lib.math.MathUtils;
+
+/**
+ * Table sizing and secondary hash functions shared by the cuckoo hashed collections, {@link ObjectSet},
+ * {@link ObjectMap} and their primitive counterparts such as {@link IntSet} and {@link IntMap}. <br />
+ * <br />
+ * Every key has three candidate buckets: its hash code masked to the table, and two re-hashes of it. Adding to a
+ * full set of buckets evicts one of the occupants at random and re-homes it, up to {@link #pushIterations(int)}
+ * times, after which the last evicted key goes in to a small linearly searched stash at the end of the table. Only
+ * when the stash is full does the table grow. Lookups therefore probe at most three buckets and the stash.
+ *
+ * @author Glossawy
+ */
+final class CuckooHash {
+
+    static final int PRIME1 = 0xB4B82E39;
+    static final int PRIME2 = 0xCED1C241;
+
+    /**
+     * Load factor every cuckoo hashed collection uses unless given another.
+     */
+    static final float DEFAULT_LOAD_FACTOR = 0.8f;
+
+    private CuckooHash() {
+    }
+
+    /**
+     * @param initialCapacity Requested Capacity
+     * @return Table capacity, the next power of two and at least 1
+     */
+    static int tableCapacity(int initialCapacity) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("initialCapacity must be >= 0: " + initialCapacity);
+        if (initialCapacity > (1 << 30))
+            throw new IllegalArgumentException("initialCapacity is too large: " + initialCapacity);
+
+        return MathUtils.nextPowerOfTwo(Math.max(1, initialCapacity));
+    }
+
+    /**
+     * @param expectedSize Number of entries the collection should hold before it first grows
+     * @return Initial capacity to request at {@link #DEFAULT_LOAD_FACTOR}
+     */
+    static int capacityFor(int expectedSize) {
+        if (expectedSize < 0)
+            throw new IllegalArgumentException("expectedSize must be >= 0: " + expectedSize);
+
+        return (int) Math.min(1 << 30, (long) Math.ceil(expectedSize / (double) DEFAULT_LOAD_FACTOR));
+    }
+
+    static float checkLoadFactor(float loadFactor) {
+        if (loadFactor <= 0)
+            throw new IllegalArgumentException("loadFactor must be > 0: " + loadFactor);
+
+        return loadFactor;
+    }
+
+    static int hashShift(int capacity) {
+        return 31 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    static int stashCapacity(int capacity) {
+        return Math.max(3, (int) Math.ceil(Math.log(capacity)) * 2);
+    }
+
+    static int pushIterations(int capacity) {
+        return Math.max(Math.min(capacity, 8), (int) Math.sqrt(capacity) / 8);
+    }
+
+    /**
+     * @return Second bucket for the hash code
+     */
+    static int hash2(int h, int hashShift, int mask) {
+        h *= PRIME1;
+        return (h ^ (h >>> hashShift)) & mask;
+    }
+
+    /**
+     * @return Third bucket for the hash code
+     */
+    static int hash3(int h, int hashShift, int mask) {
+        h *= PRIME2;
+        return (h ^ (h >>> hashShift)) & mask;
+    }
+
+    /**
+     * Mixes both halves of a long key before folding it to an int. A plain {@code key ^ (key >>> 32)} sends every key
+     * whose halves are equal to 0, and no amount of resizing separates keys with identical hash codes.
+     *
+     * @return Hash code for a long key
+     */
+    static int hashLong(long key) {
+        key *= 0x9E3779B97F4A7C15L;
+        return (int) (key ^ (key >>> 32));
+    }
+}
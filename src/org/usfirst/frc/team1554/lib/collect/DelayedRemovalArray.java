@@ -0,0 +1,336 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.collect;
+
+import com.sun.istack.internal.NotNull;
+import org.usfirst.frc.team1554.lib.util.Preconditions;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.Predicate;
+
+/**
+ * An Array whose removals can be deferred while it is being iterated. Between {@link #begin()} and {@link #end()}
+ * removing by index, value, range or predicate only marks the indices to remove, in a bitset, so no element moves and
+ * indices stay valid for the whole iteration. {@link #end()} then removes every marked index in one compaction pass.
+ * <pre>
+ * array.begin();
+ * for (int i = 0, n = array.size(); i < n; i++) {
+ *     T item = array.get(i);
+ *     // May remove from or add to 'array'
+ * }
+ * array.end();
+ * </pre>
+ * Between begin and end, {@link #size()} still counts the elements waiting to be removed and adding appends as
+ * usual, but contains, indexOf, lastIndexOf and removeValue skip them, so each element is only removed once.
+ * Operations that would move elements (insert, set, swap, pop, clear, sort, reverse, shuffle, truncate, removeAll and
+ * retainAll) throw an IllegalStateException. Iterations may be nested, removals are applied when the outermost one
+ * ends.
+ *
+ * @param <T> Element Type
+ * @author Glossawy
+ */
+public class DelayedRemovalArray<T> extends Array<T> {
+
+    @SafeVarargs
+    public static <T> DelayedRemovalArray<T> with(T... array) {
+        return new DelayedRemovalArray<>(array);
+    }
+
+    private static final long[] NO_PENDING = new long[0];
+
+    // One bit per index waiting to be removed
+    private long[] pending = NO_PENDING;
+    private int pendingCount;
+    private int iterating;
+
+    public DelayedRemovalArray() {
+        super();
+    }
+
+    public DelayedRemovalArray(Class<? extends T> arrayType) {
+        super(arrayType);
+    }
+
+    public DelayedRemovalArray(boolean ordered, int capacity) {
+        super(ordered, capacity);
+    }
+
+    public DelayedRemovalArray(boolean ordered, int capacity, @SuppressWarnings("rawtypes") Class arrayType) {
+        super(ordered, capacity, arrayType);
+    }
+
+    public DelayedRemovalArray(Array<? extends T> array) {
+        super(array);
+    }
+
+    public DelayedRemovalArray(T[] array) {
+        super(array);
+    }
+
+    public DelayedRemovalArray(boolean ordered, T[] arr, int start, int count) {
+        super(ordered, arr, start, count);
+    }
+
+    /**
+     * Start deferring removals.
+     */
+    public void begin() {
+        this.iterating++;
+    }
+
+    /**
+     * Stop deferring removals. When the outermost iteration ends every recorded index is removed in a single pass.
+     */
+    public void end() {
+        Preconditions.checkState(this.iterating > 0, "end() called without begin()");
+        if (--this.iterating > 0) return;
+
+        if (this.pendingCount == 0) return;
+
+        final long[] pending = this.pending;
+        final T[] items = this.items;
+        final int size = size();
+
+        int write = 0;
+        while ((pending[write >>> 6] & (1L << write)) == 0)
+            write++;
+
+        for (int read = write + 1; read < size; read++) {
+            if ((pending[read >>> 6] & (1L << read)) == 0)
+                items[write++] = items[read];
+        }
+
+        Arrays.fill(pending, 0, ((size - 1) >>> 6) + 1, 0L);
+        this.pendingCount = 0;
+        super.truncate(write);
+    }
+
+    /**
+     * @return True if between {@link #begin()} and {@link #end()}
+     */
+    public boolean isIterating() {
+        return this.iterating > 0;
+    }
+
+    /**
+     * Also counts the bitset of pending removals.
+     */
+    @Override
+    public long estimatedRetainedBytes() {
+        return super.estimatedRetainedBytes() + MemoryEstimate.REFERENCE_BYTES + 8 + MemoryEstimate.array(this.pending.length, 8);
+    }
+
+    /**
+     * @return True if the index is waiting to be removed when the iteration ends
+     */
+    public boolean isPending(int index) {
+        return ((index >>> 6) < this.pending.length) && ((this.pending[index >>> 6] & (1L << index)) != 0);
+    }
+
+    /**
+     * Marks the index for removal.
+     *
+     * @return True if it was not already marked
+     */
+    private boolean defer(int index) {
+        final int word = index >>> 6;
+        if (word >= this.pending.length)
+            this.pending = Arrays.copyOf(this.pending, Math.max(word + 1, this.pending.length << 1));
+
+        final long bit = 1L << index;
+        if ((this.pending[word] & bit) != 0) return false;
+
+        this.pending[word] |= bit;
+        this.pendingCount++;
+        return true;
+    }
+
+    @Override
+    public T removeIndex(int index) {
+        if (this.iterating == 0)
+            return super.removeIndex(index);
+
+        Preconditions.checkElementIndex(index, size());
+        defer(index);
+        return this.items[index];
+    }
+
+    @Override
+    public boolean removeValue(T value, boolean identityComparison) {
+        if (this.iterating == 0)
+            return super.removeValue(value, identityComparison);
+
+        final int index = indexOf(value, identityComparison);
+        return (index >= 0) && defer(index);
+    }
+
+    @Override
+    public boolean contains(T value, boolean identityComparison) {
+        return indexOf(value, identityComparison) >= 0;
+    }
+
+    @Override
+    public int indexOf(T value, boolean identityComparison) {
+        if (this.pendingCount == 0)
+            return super.indexOf(value, identityComparison);
+
+        final T[] items = this.items;
+        for (int i = 0, n = size(); i < n; i++)
+            if (!isPending(i) && matches(value, items[i], identityComparison)) return i;
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(T value, boolean identityComparison) {
+        if (this.pendingCount == 0)
+            return super.lastIndexOf(value, identityComparison);
+
+        final T[] items = this.items;
+        for (int i = size() - 1; i >= 0; i--)
+            if (!isPending(i) && matches(value, items[i], identityComparison)) return i;
+        return -1;
+    }
+
+    private static boolean matches(Object value, Object item, boolean identityComparison) {
+        return (identityComparison || (value == null)) ? item == value : value.equals(item);
+    }
+
+    @Override
+    public void removeRange(int start, int end) {
+        if (this.iterating == 0) {
+            super.removeRange(start, end);
+            return;
+        }
+
+        Preconditions.checkElementIndex(end, size());
+        Preconditions.checkElementIndex(start, end + 1);
+
+        for (int i = start; i <= end; i++)
+            defer(i);
+    }
+
+    @Override
+    public boolean removeIf(@NotNull Predicate<? super T> filter) {
+        return this.iterating == 0 ? super.removeIf(filter) : deferIf(filter, true);
+    }
+
+    @Override
+    public boolean retainIf(@NotNull Predicate<? super T> filter) {
+        return this.iterating == 0 ? super.retainIf(filter) : deferIf(filter, false);
+    }
+
+    private boolean deferIf(Predicate<? super T> filter, boolean removeWhen) {
+        Preconditions.checkNotNull(filter);
+
+        final T[] items = this.items;
+        boolean modified = false;
+
+        // Elements already waiting to be removed are not tested again
+        for (int i = 0, n = size(); i < n; i++)
+            if (!isPending(i) && (filter.test(items[i]) == removeWhen))
+                modified |= defer(i);
+
+        return modified;
+    }
+
+    @Override
+    public boolean removeAll(@NotNull Array<? extends T> array, boolean identityComparison) {
+        checkNotIterating();
+        return super.removeAll(array, identityComparison);
+    }
+
+    @Override
+    public boolean retainAll(@NotNull Array<? extends T> array, boolean identityComparison) {
+        checkNotIterating();
+        return super.retainAll(array, identityComparison);
+    }
+
+    @Override
+    public void set(int index, T value) {
+        checkNotIterating();
+        super.set(index, value);
+    }
+
+    @Override
+    public void insert(int index, T value) {
+        checkNotIterating();
+        super.insert(index, value);
+    }
+
+    @Override
+    public void swap(int first, int second) {
+        checkNotIterating();
+        super.swap(first, second);
+    }
+
+    @Override
+    public T pop() {
+        checkNotIterating();
+        return super.pop();
+    }
+
+    @Override
+    public void clear() {
+        checkNotIterating();
+        super.clear();
+    }
+
+    @Override
+    public Array<T> sort() {
+        checkNotIterating();
+        return super.sort();
+    }
+
+    @Override
+    public Array<T> sort(Comparator<? super T> comparator) {
+        checkNotIterating();
+        return super.sort(comparator);
+    }
+
+    @Override
+    public int selectRankedIndex(Comparator<? super T> comparator, int kth) {
+        checkNotIterating();
+        return super.selectRankedIndex(comparator, kth);
+    }
+
+    @Override
+    public Array<T> reverse() {
+        checkNotIterating();
+        return super.reverse();
+    }
+
+    @Override
+    public Array<T> shuffle() {
+        checkNotIterating();
+        return super.shuffle();
+    }
+
+    @Override
+    public void truncate(int newSize) {
+        checkNotIterating();
+        super.truncate(newSize);
+    }
+
+    private void checkNotIterating() {
+        Preconditions.checkState(this.iterating == 0, "Invalid between begin() and end()!");
+    }
+}
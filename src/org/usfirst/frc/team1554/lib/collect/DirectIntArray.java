@@ -0,0 +1,485 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.collect;
+
+import org.usfirst.frc.team1554.lib.util.Preconditions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A resizable, ordered array of {@code int}s stored off-heap in a direct buffer, for very large sample logs that
+ * should not burden the garbage collector. Memory is released when the array is closed, not when it is collected, so
+ * always {@link #close()} it, i.e. with try-with-resources. Growing reallocates and copies like {@link IntArray}. <br />
+ * <br />
+ * An array created through {@link #mapped(Path, int)} is instead backed by a memory-mapped file, so its contents
+ * survive the process. The size is kept in a small header at the start of the file and written by {@link #flush()} and
+ * {@link #close()}.
+ *
+ * @author Glossawy
+ */
+public final class DirectIntArray implements AutoCloseable, MemoryAccountable {
+
+    static final int BYTES = 4;
+
+    // Header of a mapped file: magic, element size, element count and padding
+    private static final int MAGIC = 0x524C4441;
+    private static final int HEADER_BYTES = 16;
+
+    /**
+     * Open, or create, a file-backed array. An existing file keeps its contents and size.
+     *
+     * @param file     File to Map
+     * @param capacity Minimum initial capacity
+     * @return Mapped Array
+     * @throws IOException If the file can not be opened or was not written by a DirectIntArray
+     */
+    public static DirectIntArray mapped(Path file, int capacity) throws IOException {
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            int size = 0;
+            final long existing = channel.size();
+            if (existing > 0) {
+                final ByteBuffer header = existing < HEADER_BYTES ? null : DirectMemory.map(channel, HEADER_BYTES);
+                if ((header == null) || (header.getInt(0) != MAGIC) || (header.getInt(4) != BYTES))
+                    throw new IOException(file + " is not a DirectIntArray file!");
+
+                size = header.getInt(8);
+                DirectMemory.free(header);
+
+                final int stored = (int) ((existing - HEADER_BYTES) / BYTES);
+                if ((size < 0) || (size > stored))
+                    throw new IOException(file + " claims " + size + " elements but only has room for " + stored + "!");
+
+                capacity = Math.max(capacity, stored);
+            }
+
+            final DirectIntArray array = new DirectIntArray(channel, Math.max(capacity, size));
+            array.size = size;
+            array.writeHeader();
+            return array;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private final FileChannel channel;
+
+    private ByteBuffer memory;
+    private IntBuffer values;
+    private int capacity;
+    private int size;
+    private GrowthPolicy growth = GrowthPolicy.DEFAULT;
+
+    /**
+     * Create an empty array with a capacity of 16.
+     */
+    public DirectIntArray() {
+        this(16);
+    }
+
+    /**
+     * @param capacity Initial capacity, in elements
+     */
+    public DirectIntArray(int capacity) {
+        Preconditions.checkExpression(capacity >= 0, "capacity must be >= 0: " + capacity);
+
+        this.channel = null;
+        allocate(capacity);
+    }
+
+    private DirectIntArray(FileChannel channel, int capacity) throws IOException {
+        this.channel = channel;
+        map(capacity);
+    }
+
+    /**
+     * Append a given value to the Array
+     *
+     * @param value Value to Append
+     */
+    public void add(int value) {
+        if (this.size == this.capacity)
+            resize(this.growth.grow(this.size + 1));
+
+        values().put(this.size++, value);
+    }
+
+    /**
+     * Append an entire array or sub-array to this Array with a single bulk copy.
+     *
+     * @param array Array to append
+     * @param start Start Index
+     * @param count Number of Elements to Copy
+     */
+    public void addAll(int[] array, int start, int count) {
+        Preconditions.checkElementIndex(start, array.length + 1);
+        Preconditions.checkElementIndex(start + count, array.length + 1, "start + count MUST be <= length! Length: " + array.length);
+
+        final int requirement = this.size + count;
+        if (requirement > this.capacity)
+            resize(this.growth.grow(requirement));
+
+        final IntBuffer values = values();
+        values.position(this.size);
+        values.put(array, start, count);
+        values.clear();
+
+        this.size = requirement;
+    }
+
+    /**
+     * Append an entire array of values to this Array
+     *
+     * @param array Array to append
+     */
+    public void addAll(int... array) {
+        addAll(array, 0, array.length);
+    }
+
+    /**
+     * Append every value of an on-heap Array.
+     *
+     * @param array Array to append
+     */
+    public void addAll(IntArray array) {
+        addAll(array.items, 0, array.size());
+    }
+
+    public int get(int index) {
+        Preconditions.checkElementIndex(index, this.size);
+
+        return values().get(index);
+    }
+
+    public void set(int index, int value) {
+        Preconditions.checkElementIndex(index, this.size);
+
+        values().put(index, value);
+    }
+
+    /**
+     * Add to the value at the given index.
+     *
+     * @param index Index of Value
+     * @param value Amount to Add
+     * @return The new value
+     */
+    public int incr(int index, int value) {
+        Preconditions.checkElementIndex(index, this.size);
+
+        final IntBuffer values = values();
+        final int result = values.get(index) + value;
+        values.put(index, result);
+        return result;
+    }
+
+    /**
+     * Remove element at a particular index, shifting the following elements down.
+     *
+     * @param index Index of Array
+     * @return Element at that index, before removal.
+     */
+    public int removeIndex(int index) {
+        Preconditions.checkElementIndex(index, this.size);
+
+        final IntBuffer values = values();
+        final int value = values.get(index);
+
+        // Shift the tail down by one with a bulk copy between views of the same memory
+        if (index < this.size - 1) {
+            final IntBuffer tail = values.duplicate();
+            tail.position(index + 1).limit(this.size);
+            values.position(index);
+            values.put(tail);
+            values.clear();
+        }
+
+        this.size--;
+        return value;
+    }
+
+    public int pop() {
+        Preconditions.checkState(this.size != 0, "No Elements to Pop!");
+
+        return values().get(--this.size);
+    }
+
+    public int peek() {
+        Preconditions.checkState(this.size != 0, "No Elements to Peek!");
+
+        return values().get(this.size - 1);
+    }
+
+    public int first() {
+        Preconditions.checkState(this.size != 0, "No elements to Get!");
+
+        return values().get(0);
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Sets size to 0 without releasing any memory, see {@link #shrink()}.
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * Truncates array to newSize. If size <= newSize then nothing happens
+     *
+     * @param newSize Size to truncate to
+     */
+    public void truncate(int newSize) {
+        if (this.size > newSize)
+            this.size = Math.max(0, newSize);
+    }
+
+    /**
+     * Ensure Capacity by adding additional capacity, reallocating if necessary.
+     *
+     * @param additionalCapacity Additional Capacity to add
+     * @return this array for chaining
+     */
+    public DirectIntArray ensureCapacity(int additionalCapacity) {
+        final int newSize = this.size + additionalCapacity;
+        if (newSize > this.capacity)
+            resize(this.growth.grow(newSize));
+
+        return this;
+    }
+
+    /**
+     * Reallocates the memory down to exactly the current size. A mapped array's file is truncated to match, except on
+     * platforms that refuse to truncate a mapped file (Windows), where it keeps its length.
+     *
+     * @return This Array for Chaining
+     */
+    public DirectIntArray shrink() {
+        if (this.capacity != this.size)
+            resize(this.size);
+
+        return this;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public int capacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Estimated bytes held, almost all of it the off-heap memory, which is not part of the Java heap.
+     *
+     * @return Estimated Retained Bytes
+     */
+    @Override
+    public long estimatedRetainedBytes() {
+        return MemoryEstimate.object((4 * MemoryEstimate.REFERENCE_BYTES) + 8) + ((long) this.capacity * BYTES);
+    }
+
+    /**
+     * Sets how this Array grows when it runs out of room, {@link GrowthPolicy#DEFAULT} unless changed.
+     *
+     * @param growth Growth Policy
+     * @return This Array for Chaining
+     */
+    public DirectIntArray setGrowthPolicy(GrowthPolicy growth) {
+        this.growth = Preconditions.checkNotNull(growth);
+        return this;
+    }
+
+    /**
+     * @return True if backed by a memory-mapped file
+     */
+    public boolean isMapped() {
+        return this.channel != null;
+    }
+
+    /**
+     * @return False once closed
+     */
+    public boolean isOpen() {
+        return this.values != null;
+    }
+
+    /**
+     * Copy the values into a heap array.
+     *
+     * @param dest   Array to copy into
+     * @param offset Index in dest to start at
+     * @param start  Index in this array to start at
+     * @param count  Number of values to copy
+     */
+    public void copyTo(int[] dest, int offset, int start, int count) {
+        Preconditions.checkElementIndex(start + count, this.size + 1, "start + count MUST be <= size! Size: " + this.size);
+
+        final IntBuffer values = values();
+        values.position(start);
+        values.get(dest, offset, count);
+        values.clear();
+    }
+
+    /**
+     * @return Heap copy of the values, exactly {@link #size()} long
+     */
+    public int[] toArray() {
+        final int[] result = new int[this.size];
+        copyTo(result, 0, 0, this.size);
+        return result;
+    }
+
+    /**
+     * Write the size to a mapped file's header and force the contents to disk. Does nothing if not mapped.
+     */
+    public void flush() {
+        if (this.channel == null) return;
+
+        values();
+        writeHeader();
+        ((MappedByteBuffer) this.memory).force();
+    }
+
+    /**
+     * Release the memory now, flushing and closing the file if mapped. Does nothing if already closed.
+     */
+    @Override
+    public void close() {
+        if (this.values == null) return;
+
+        try {
+            flush();
+        } finally {
+            release();
+
+            if (this.channel != null) {
+                try {
+                    this.channel.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (this.values == null) return "[closed]";
+        if (this.size == 0) return "[]";
+
+        final StringBuilder sb = new StringBuilder(this.size * 4);
+        sb.append('[').append(this.values.get(0));
+
+        for (int i = 1; i < this.size; i++) {
+            sb.append(", ").append(this.values.get(i));
+        }
+
+        return sb.append(']').toString();
+    }
+
+    private IntBuffer values() {
+        final IntBuffer values = this.values;
+        Preconditions.checkState(values != null, "DirectIntArray has been closed!");
+        return values;
+    }
+
+    private void resize(int newCapacity) {
+        final IntBuffer old = values();
+
+        if (this.channel != null) {
+            // The new mapping already sees the file's contents. Only once it exists does the old one go, so a failure
+            // leaves the array as it was.
+            final ByteBuffer oldMemory = this.memory;
+            final int oldCapacity = this.capacity;
+
+            try {
+                map(newCapacity);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            DirectMemory.free(oldMemory);
+            if (newCapacity < oldCapacity)
+                truncate();
+            return;
+        }
+
+        final ByteBuffer oldMemory = this.memory;
+        allocate(newCapacity);
+
+        old.position(0).limit(Math.min(this.size, newCapacity));
+        this.values.put(old);
+        this.values.clear();
+
+        DirectMemory.free(oldMemory);
+    }
+
+    private void allocate(int capacity) {
+        this.memory = DirectMemory.allocate((long) capacity * BYTES);
+        this.values = this.memory.asIntBuffer();
+        this.capacity = capacity;
+    }
+
+    private void map(int capacity) throws IOException {
+        this.memory = DirectMemory.map(this.channel, HEADER_BYTES + ((long) capacity * BYTES));
+        this.memory.position(HEADER_BYTES);
+        this.values = this.memory.slice().order(this.memory.order()).asIntBuffer();
+        this.memory.clear();
+        this.capacity = capacity;
+    }
+
+    private void truncate() {
+        try {
+            this.channel.truncate(HEADER_BYTES + ((long) this.capacity * BYTES));
+        } catch (IOException ignore) {
+            // Windows will not truncate a file while it is mapped, the file is then just larger than needed
+        }
+    }
+
+    private void writeHeader() {
+        this.memory.putInt(0, MAGIC);
+        this.memory.putInt(4, BYTES);
+        this.memory.putInt(8, this.size);
+    }
+
+    private void release() {
+        final ByteBuffer memory = this.memory;
+
+        this.values = null;
+        this.memory = null;
+        DirectMemory.free(memory);
+    }
+}
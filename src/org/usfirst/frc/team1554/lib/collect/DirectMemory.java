@@ -0,0 +1,120 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.collect;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Allocation and explicit release of direct and memory-mapped buffers for the off-heap arrays. The JDK only frees
+ * a direct buffer once it has been garbage collected, which is exactly what the off-heap arrays are avoiding, so
+ * {@link #free(ByteBuffer)} runs the buffer's cleaner straight away through {@code sun.misc.Unsafe#invokeCleaner}
+ * on Java 9 and later or the buffer's own {@code cleaner()} on Java 8. If neither is reachable the memory is left
+ * to the garbage collector as usual.
+ *
+ * @author Glossawy
+ */
+final class DirectMemory {
+
+    private static final Object unsafe;
+    private static final Method invokeCleaner;
+
+    static {
+        Object theUnsafe = null;
+        Method cleanerMethod = null;
+
+        try {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            cleanerMethod = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+
+            final Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            theUnsafe = field.get(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Java 8, use the buffer's cleaner instead
+            cleanerMethod = null;
+        }
+
+        unsafe = theUnsafe;
+        invokeCleaner = cleanerMethod;
+    }
+
+    private DirectMemory() {
+    }
+
+    /**
+     * @param bytes Size in Bytes
+     * @return Zeroed direct buffer in native byte order
+     */
+    static ByteBuffer allocate(long bytes) {
+        return ByteBuffer.allocateDirect(checkSize(bytes)).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Map the first 'bytes' bytes of the channel's file, growing the file if it is shorter.
+     *
+     * @param channel Read/Write Channel
+     * @param bytes   Size in Bytes
+     * @return Mapped buffer in native byte order
+     */
+    static MappedByteBuffer map(FileChannel channel, long bytes) throws IOException {
+        final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, checkSize(bytes));
+        mapped.order(ByteOrder.nativeOrder());
+        return mapped;
+    }
+
+    /**
+     * Release the memory of a direct or mapped buffer now. The buffer, and every view of it, must not be used again.
+     *
+     * @param buffer Buffer to Free, may be null
+     */
+    static void free(ByteBuffer buffer) {
+        if ((buffer == null) || !buffer.isDirect()) return;
+
+        try {
+            if (invokeCleaner != null) {
+                invokeCleaner.invoke(unsafe, buffer);
+                return;
+            }
+
+            final Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+            cleanerMethod.setAccessible(true);
+
+            final Object cleaner = cleanerMethod.invoke(buffer);
+            if (cleaner != null)
+                cleaner.getClass().getMethod("clean").invoke(cleaner);
+        } catch (ReflectiveOperationException | RuntimeException ignore) {
+            // Left for the garbage collector
+        }
+    }
+
+    private static int checkSize(long bytes) {
+        if ((bytes < 0) || (bytes > Integer.MAX_VALUE))
+            throw new IllegalArgumentException("Off-heap arrays are limited to 2GB: " + bytes + " bytes");
+
+        return (int) bytes;
+    }
+}
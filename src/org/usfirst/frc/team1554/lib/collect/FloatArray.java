@@ -0,0 +1,661 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.collect;
+
+import org.usfirst.frc.team1554.lib.math.MathUtils;
+import org.usfirst.frc.team1554.lib.util.Preconditions;
+
+import java.util.Arrays;
+
+/**
+ * A resizable, ordered or unordered array of {@code float}s. The {@code float} counterpart to {@link Array}, every value is
+ * stored directly in {@link #items} so nothing is ever boxed. If unordered then removal moves the last element into the
+ * removed position instead of shifting the array.
+ *
+ * @author Glossawy
+ */
+public class FloatArray implements MemoryAccountable {
+
+    /**
+     * Returns an Ordered Array consisting of the provided elements.
+     *
+     * @param array Elements to initialize with
+     * @return Ordered Array with initial elements
+     */
+    public static FloatArray with(float... array) {
+        return new FloatArray(array);
+    }
+
+    public float[] items;
+
+    private int size;
+    private boolean ordered;
+    private GrowthPolicy growth = GrowthPolicy.DEFAULT;
+
+    /**
+     * Create an empty ordered array.
+     */
+    public FloatArray() {
+        this(true, 16);
+    }
+
+    /**
+     * Create an empty ordered array with the given capacity.
+     *
+     * @param capacity Initial size of array
+     */
+    public FloatArray(int capacity) {
+        this(true, capacity);
+    }
+
+    /**
+     * Create an empty, ordered or unordered array.
+     *
+     * @param ordered  Whether or not order should be maintained
+     * @param capacity Initial size of array
+     */
+    public FloatArray(boolean ordered, int capacity) {
+        this.ordered = ordered;
+        this.items = new float[capacity];
+    }
+
+    /**
+     * Creates a copy of the given Array
+     *
+     * @param array Array to Copy
+     */
+    public FloatArray(FloatArray array) {
+        this(array.ordered, array.size);
+        this.size = array.size;
+        System.arraycopy(array.items, 0, this.items, 0, this.size);
+    }
+
+    /**
+     * Copies the given array in to a new ordered Array.
+     *
+     * @param array Array to copy
+     */
+    public FloatArray(float[] array) {
+        this(true, array, 0, array.length);
+    }
+
+    /**
+     * Copies an array or sub-array in to a new Array, ordered or unordered.
+     *
+     * @param ordered Whether or not order should be maintained
+     * @param arr     Array to copy
+     * @param start   Start Index
+     * @param count   Number of Elements to Copy
+     */
+    public FloatArray(boolean ordered, float[] arr, int start, int count) {
+        this(ordered, count);
+        checkRange(start, count, arr.length);
+
+        this.size = count;
+        System.arraycopy(arr, start, this.items, 0, count);
+    }
+
+    /**
+     * Append a given value to the Array
+     *
+     * @param value Value to Append
+     */
+    public void add(float value) {
+        float[] items = this.items;
+
+        // Resize if no room available, as much as the growth policy says
+        if (this.size == items.length) {
+            items = resize(this.growth.grow(this.size + 1));
+        }
+
+        items[this.size++] = value;
+    }
+
+    /**
+     * Append entire Array to this Array
+     *
+     * @param array Array of Values to Append
+     */
+    public void addAll(FloatArray array) {
+        addAll(array.items, 0, array.size);
+    }
+
+    /**
+     * Append an entire Array or subsequence of the Array to this Array, starting at 'start' and copying 'count' values.
+     *
+     * @param array Array to Copy From
+     * @param start Start Index
+     * @param count Number of Elements to Copy
+     */
+    public void addAll(FloatArray array, int start, int count) {
+        checkRange(start, count, array.size);
+
+        addAll(array.items, start, count);
+    }
+
+    /**
+     * Append an entire array of values to this Array
+     *
+     * @param array Array to append
+     */
+    public void addAll(float... array) {
+        addAll(array, 0, array.length);
+    }
+
+    /**
+     * Append an entire array or sub-array to this Array with a single {@link System#arraycopy}.
+     *
+     * @param array Array to append
+     * @param start Start Index
+     * @param count Number of Elements to Copy
+     */
+    public void addAll(float[] array, int start, int count) {
+        checkRange(start, count, array.length);
+
+        final int requirement = this.size + count;
+        if (requirement > this.items.length) {
+            resize(this.growth.grow(requirement));
+        }
+
+        System.arraycopy(array, start, this.items, this.size, count);
+        this.size += count;
+    }
+
+    /**
+     * Get an element at the given index. This is only defined when the Array is ordered. Unordered Arrays may have
+     * unexpected behavior.
+     *
+     * @param index Index of element
+     * @return Element at Index
+     */
+    public float get(int index) {
+        Preconditions.checkElementIndex(index, this.size);
+
+        return this.items[index];
+    }
+
+    /**
+     * Puts a value at the given index.
+     *
+     * @param index Index to Put
+     * @param value Element to Put
+     */
+    public void set(int index, float value) {
+        Preconditions.checkElementIndex(index, this.size);
+
+        this.items[index] = value;
+    }
+
+    /**
+     * Add to the value at the given index.
+     *
+     * @param index Index of Value
+     * @param value Amount to Add
+     * @return The new value
+     */
+    public float incr(int index, float value) {
+        Preconditions.checkElementIndex(index, this.size);
+
+        return this.items[index] += value;
+    }
+
+    /**
+     * Multiply the value at the given index.
+     *
+     * @param index Index of Value
+     * @param value Amount to Multiply By
+     * @return The new value
+     */
+    public float mul(int index, float value) {
+        Preconditions.checkElementIndex(index, this.size);
+
+        return this.items[index] *= value;
+    }
+
+    /**
+     * Inserts a value into the array at the given Index
+     *
+     * @param index Index to insert at
+     * @param value Element to insert
+     */
+    public void insert(int index, float value) {
+        Preconditions.checkElementIndex(index, this.size + 1);
+
+        float[] items = this.items;
+        if (this.size == items.length) {
+            items = resize(this.growth.grow(this.size + 1));
+        }
+
+        if (this.ordered) {
+            System.arraycopy(items, index, items, index + 1, this.size - index);
+        } else {
+            items[this.size] = items[index];
+        }
+
+        this.size++;
+        items[index] = value;
+    }
+
+    /**
+     * Swap two elements given the indices
+     *
+     * @param first  First Index
+     * @param second Second Index
+     */
+    public void swap(int first, int second) {
+        Preconditions.checkElementIndex(first, this.size);
+        Preconditions.checkElementIndex(second, this.size);
+
+        final float[] items = this.items;
+        final float fVal = items[first];
+        items[first] = items[second];
+        items[second] = fVal;
+    }
+
+    /**
+     * @param value Value to check for
+     * @return True if the value is in this Array
+     */
+    public boolean contains(float value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * Obtains the index of a value in the Array. If it does not exist in the array, -1 is returned (akin to Collections)
+     * <br />
+     * <br />
+     * Values are compared by their bits, as {@link Float#equals(Object)} and {@link #equals(Object)} do, so NaN is
+     * found and -0.0 is not 0.0.
+     *
+     * @param value Value to find
+     * @return Index of Value in Array
+     */
+    public int indexOf(float value) {
+        final float[] items = this.items;
+        final int bits = Float.floatToIntBits(value);
+
+        for (int i = 0, n = this.size; i < n; i++)
+            if (Float.floatToIntBits(items[i]) == bits) return i;
+
+        return -1;
+    }
+
+    /**
+     * Find the last index of a particular value in the array.
+     *
+     * @param value Value to Locate
+     * @return The last index at which the value can be found. Or -1.
+     * @see #indexOf(float)
+     */
+    public int lastIndexOf(float value) {
+        final float[] items = this.items;
+        final int bits = Float.floatToIntBits(value);
+
+        for (int i = this.size - 1; i >= 0; i--)
+            if (Float.floatToIntBits(items[i]) == bits) return i;
+
+        return -1;
+    }
+
+    /**
+     * Removes a value from the Array by first locating it.
+     *
+     * @param value Value to Remove
+     * @return True if removed, false otherwise.
+     */
+    public boolean removeValue(float value) {
+        final int index = indexOf(value);
+
+        if (index < 0) return false;
+
+        removeIndex(index);
+        return true;
+    }
+
+    /**
+     * Remove element at a particular index.
+     *
+     * @param index Index of Array
+     * @return Element at that index, before removal.
+     */
+    public float removeIndex(int index) {
+        Preconditions.checkElementIndex(index, this.size);
+
+        final float[] items = this.items;
+        final float value = items[index];
+
+        this.size--;
+        if (this.ordered) {
+            System.arraycopy(items, index + 1, items, index, this.size - index);
+        } else {
+            items[index] = items[this.size];
+        }
+
+        return value;
+    }
+
+    /**
+     * Remove a particular range of elements given a start and end index, both inclusive.
+     *
+     * @param start Start Index
+     * @param end   End Index
+     */
+    public void removeRange(int start, int end) {
+        Preconditions.checkElementIndex(end, this.size);
+        Preconditions.checkElementIndex(start, end + 1);
+
+        final float[] items = this.items;
+        final int count = (end - start) + 1;
+
+        if (this.ordered) {
+            System.arraycopy(items, start + count, items, start, this.size - (start + count));
+        } else {
+            // Fill the hole with the tail, never moving more than the hole or the tail holds
+            final int moved = Math.min(count, this.size - (end + 1));
+            System.arraycopy(items, this.size - moved, items, start, moved);
+        }
+
+        this.size -= count;
+    }
+
+    /**
+     * Remove the first occurrence of each value in the given array from this array.
+     *
+     * @param array Other Array
+     * @return True if modified, false otherwise.
+     */
+    public boolean removeAll(FloatArray array) {
+        final int startSize = this.size;
+        final float[] values = array.items;
+
+        for (int i = 0, n = array.size; i < n; i++) {
+            final int index = indexOf(values[i]);
+            if (index >= 0)
+                removeIndex(index);
+        }
+
+        return this.size != startSize;
+    }
+
+    /**
+     * Pop an element off the top of this array. Identical to the Stack pop() operation.
+     *
+     * @return Popped Element
+     */
+    public float pop() {
+        Preconditions.checkState(this.size != 0, "No Elements to Pop!");
+
+        return this.items[--this.size];
+    }
+
+    /**
+     * Returns but does not remove the element at the top of this Array. Identical to the Stack peek() operation
+     *
+     * @return Element at top of Array
+     */
+    public float peek() {
+        Preconditions.checkState(this.size != 0, "No Elements to Peek!");
+
+        return this.items[this.size - 1];
+    }
+
+    /**
+     * Returns but does not remove the first element of this Array.
+     *
+     * @return First element of array (index 0)
+     */
+    public float first() {
+        Preconditions.checkState(this.size != 0, "No elements to Get!");
+
+        return this.items[0];
+    }
+
+    /**
+     * @return True if there are no elements
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Sets size to 0. In order to shrink the explicit length of the internal array, {@link #shrink()} should be called
+     * after this.
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * Shrinks the internal array down to the absolute minimal size while maintaining order and content.
+     *
+     * @return This Array for Chaining
+     */
+    public FloatArray shrink() {
+        if (this.items.length != this.size) {
+            resize(this.size);
+        }
+
+        return this;
+    }
+
+    /**
+     * Ensure Capacity by adding additional capacity, if necessary the Array is resized to account for this.
+     *
+     * @param additionalCapacity Additional Capacity to add
+     * @return this array for chaining
+     */
+    public FloatArray ensureCapacity(int additionalCapacity) {
+        final int newSize = this.size + additionalCapacity;
+        if (newSize > this.items.length) {
+            resize(this.growth.grow(newSize));
+        }
+
+        return this;
+    }
+
+    /**
+     * Current Size of Array, as number of elements and not literal internal array length.
+     *
+     * @return Size of Array
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return True if initialized as an ordered array, false otherwise.
+     */
+    public boolean ordered() {
+        return this.ordered;
+    }
+
+    @Override
+    public int capacity() {
+        return this.items.length;
+    }
+
+    @Override
+    public long estimatedRetainedBytes() {
+        return MemoryEstimate.object((2 * MemoryEstimate.REFERENCE_BYTES) + 5) + MemoryEstimate.array(this.items.length, 4);
+    }
+
+    /**
+     * Sets how this Array grows when it runs out of room, {@link GrowthPolicy#DEFAULT} unless changed.
+     *
+     * @param growth Growth Policy
+     * @return This Array for Chaining
+     */
+    public FloatArray setGrowthPolicy(GrowthPolicy growth) {
+        this.growth = Preconditions.checkNotNull(growth);
+        return this;
+    }
+
+    public GrowthPolicy getGrowthPolicy() {
+        return this.growth;
+    }
+
+    /**
+     * Shrinks the backing array to the current size if more slots are unused than the growth policy's maxWaste allows.
+     *
+     * @return True if the backing array was shrunk
+     */
+    public boolean trimWaste() {
+        if (!this.growth.isWasteful(this.size, this.items.length)) return false;
+
+        resize(this.size);
+        return true;
+    }
+
+    protected float[] resize(int newSize) {
+        final float[] newItems = new float[newSize];
+
+        System.arraycopy(this.items, 0, newItems, 0, Math.min(this.size, newSize));
+        this.items = newItems;
+        return newItems;
+    }
+
+    /**
+     * Sorts this array in place, ascending.
+     *
+     * @return This Array for Chaining
+     */
+    public FloatArray sort() {
+        Arrays.sort(this.items, 0, this.size);
+        return this;
+    }
+
+    /**
+     * Reverses the order of the array.
+     *
+     * @return This Array for Chaining
+     */
+    public FloatArray reverse() {
+        final float[] items = this.items;
+
+        for (int i = 0, last = this.size - 1, n = this.size / 2; i < n; i++) {
+            final int j = last - i;
+            final float temp = items[i];
+            items[i] = items[j];
+            items[j] = temp;
+        }
+
+        return this;
+    }
+
+    /**
+     * Shuffles the order of the Array using a fisher-yates shuffle.
+     *
+     * @return This Array for Chaining
+     */
+    public FloatArray shuffle() {
+        final float[] items = this.items;
+
+        for (int i = this.size - 1; i >= 0; i--) {
+            final int j = MathUtils.random(i);
+            final float temp = items[i];
+            items[i] = items[j];
+            items[j] = temp;
+        }
+
+        return this;
+    }
+
+    /**
+     * Truncates array to newSize. If size <= newSize then nothing happens
+     *
+     * @param newSize Size to truncate to
+     */
+    public void truncate(int newSize) {
+        if (this.size > newSize)
+            this.size = newSize;
+    }
+
+    /**
+     * Returns a random element obtained using {@link MathUtils#random(int)}
+     *
+     * @return Random Element in Array
+     */
+    public float random() {
+        Preconditions.checkState(this.size != 0, "No Elements to Select From!");
+
+        return this.items[MathUtils.random(this.size - 1)];
+    }
+
+    /**
+     * @return Copy of the Items, exactly {@link #size()} long
+     */
+    public float[] toArray() {
+        final float[] result = new float[this.size];
+        System.arraycopy(this.items, 0, result, 0, this.size);
+        return result;
+    }
+
+    @Override
+    public int hashCode() {
+        final float[] items = this.items;
+        int result = 17;
+
+        result = (37 * result) + this.size;
+        for (int i = 0, n = this.size; i < n; i++)
+            result = (37 * result) + Float.floatToIntBits(items[i]);
+
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (object == this) return true;
+        if (!(object instanceof FloatArray)) return false;
+
+        final FloatArray arr = (FloatArray) object;
+        if (this.size != arr.size) return false;
+
+        final float[] i1 = this.items;
+        final float[] i2 = arr.items;
+
+        for (int i = 0; i < this.size; i++)
+            if (Float.floatToIntBits(i1[i]) != Float.floatToIntBits(i2[i]))
+                return false;
+
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        if (this.size == 0) return "[]";
+
+        final float[] items = this.items;
+        final StringBuilder sb = new StringBuilder(this.size * 4);
+        sb.append('[').append(items[0]);
+
+        for (int i = 1; i < this.size; i++) {
+            sb.append(", ").append(items[i]);
+        }
+
+        return sb.append(']').toString();
+    }
+
+    private static void checkRange(int start, int count, int length) {
+        Preconditions.checkElementIndex(start, length + 1);
+        Preconditions.checkElementIndex(start + count, length + 1, "start + count MUST be <= length! Length: " + length);
+    }
+}
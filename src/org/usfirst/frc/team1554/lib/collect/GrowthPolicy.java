@@ -0,0 +1,111 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.collect;
+
+import org.usfirst.frc.team1554.lib.util.Preconditions;
+
+/**
+ * Decides how much an array grows when it runs out of room. The new capacity is the required capacity scaled by the
+ * factor plus the step, never less than the minimum, and never more than maxWaste slots beyond what is required.
+ * {@link #DEFAULT} grows by 1.75x with a minimum of 8, as {@link Array} always has. <br />
+ * <br />
+ * A policy is immutable and may be shared by any number of arrays.
+ *
+ * @author Glossawy
+ */
+public final class GrowthPolicy {
+
+    public static final int MIN_CAPACITY = 8;
+
+    /**
+     * Grow by 1.75x, at least to 8, with no limit on unused slots.
+     */
+    public static final GrowthPolicy DEFAULT = new GrowthPolicy(1.75f, 0, Integer.MAX_VALUE);
+
+    /**
+     * Grow to exactly the required capacity, for arrays that are filled once and rarely appended to.
+     */
+    public static final GrowthPolicy EXACT = new GrowthPolicy(1f, 0, 0);
+
+    /**
+     * @param factor   Multiplier applied to the required capacity, at least 1
+     * @param step     Slots added after scaling, at least 0
+     * @param maxWaste Most unused slots a single growth may leave, at least 0
+     * @return A Growth Policy
+     */
+    public static GrowthPolicy of(float factor, int step, int maxWaste) {
+        return new GrowthPolicy(factor, step, maxWaste);
+    }
+
+    private final float factor;
+    private final int step;
+    private final int maxWaste;
+
+    private GrowthPolicy(float factor, int step, int maxWaste) {
+        Preconditions.checkExpression(factor >= 1f, "factor must be >= 1: " + factor);
+        Preconditions.checkExpression(step >= 0, "step must be >= 0: " + step);
+        Preconditions.checkExpression(maxWaste >= 0, "maxWaste must be >= 0: " + maxWaste);
+
+        this.factor = factor;
+        this.step = step;
+        this.maxWaste = maxWaste;
+    }
+
+    /**
+     * @param required Capacity that must at least be available
+     * @return Capacity to grow to, at least required
+     */
+    public int grow(int required) {
+        final long scaled = (long) (required * (double) this.factor) + this.step;
+        long capacity = Math.max(required, Math.max(MIN_CAPACITY, scaled));
+
+        if ((capacity - required) > this.maxWaste)
+            capacity = (long) required + this.maxWaste;
+
+        return (int) Math.min(capacity, Integer.MAX_VALUE - 8);
+    }
+
+    /**
+     * @param size     Number of elements in use
+     * @param capacity Current capacity
+     * @return True if more than maxWaste slots are unused
+     */
+    public boolean isWasteful(int size, int capacity) {
+        return (capacity - size) > this.maxWaste;
+    }
+
+    public float getFactor() {
+        return this.factor;
+    }
+
+    public int getStep() {
+        return this.step;
+    }
+
+    public int getMaxWaste() {
+        return this.maxWaste;
+    }
+
+    @Override
+    public String toString() {
+        return "GrowthPolicy[factor=" + this.factor + ", step=" + this.step + ", maxWaste=" + this.maxWaste + "]";
+    }
+}
@@ -0,0 +1,961 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.collect;
+
+import org.usfirst.frc.team1554.lib.math.MathUtils;
+import org.usfirst.frc.team1554.lib.util.Preconditions;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An unordered map from {@code int}s to objects using the same cuckoo hashing as {@link ObjectSet}, see
+ * {@link CuckooHash}. Keys and values live in parallel arrays, so no entry objects are allocated and lookups probe at
+ * most three buckets and a small stash. Nothing is boxed: int 0 marks an empty bucket, so the 0 key is kept in a separate
+ * slot. <br />
+ * <br />
+ * The iterators returned by {@link #entries()}, {@link #keys()} and {@link #values()} are reused, like
+ * {@link ObjectSet#iterator()}; construct one directly for nested or multithreaded iteration.
+ *
+ * @author Glossawy
+ */
+public class IntMap<V> implements Iterable<IntMap.Entry<V>> {
+    private static final int INDEX_ILLEGAL = -2;
+    private static final int INDEX_ZERO = -1;
+    private static final int INDEX_NONE = -3;
+
+    public int size;
+
+    int[] keyTable;
+    V[] valueTable;
+    int capacity, stashSize;
+    V zeroValue;
+    boolean hasZeroValue;
+
+    private float loadFactor;
+    private int hashShift, mask, threshold;
+    private int stashCapacity;
+    private int pushIterations;
+
+    private Entries<V> entries1, entries2;
+    private Values<V> values1, values2;
+    private Keys keys1, keys2;
+
+    /**
+     * Creates a new map with an initial capacity of 32 and a load
+     * factor of 0.8. This map will hold 25 items before growing the
+     * backing table.
+     */
+    public IntMap() {
+        this(32, 0.8f);
+    }
+
+    /**
+     * Creates a new map with a load factor of 0.8. This map will hold
+     * initialCapacity * 0.8 items before growing the backing table.
+     */
+    public IntMap(int initialCapacity) {
+        this(initialCapacity, 0.8f);
+    }
+
+    /**
+     * Creates a new map with the specified initial capacity and load
+     * factor. This map will hold initialCapacity * loadFactor items
+     * before growing the backing table.
+     */
+    @SuppressWarnings("unchecked")
+    public IntMap(int initialCapacity, float loadFactor) {
+        this.capacity = CuckooHash.tableCapacity(initialCapacity);
+        this.loadFactor = CuckooHash.checkLoadFactor(loadFactor);
+
+        this.threshold = (int) (this.capacity * loadFactor);
+        this.mask = this.capacity - 1;
+        this.hashShift = CuckooHash.hashShift(this.capacity);
+        this.stashCapacity = CuckooHash.stashCapacity(this.capacity);
+        this.pushIterations = CuckooHash.pushIterations(this.capacity);
+
+        this.keyTable = new int[this.capacity + this.stashCapacity];
+        this.valueTable = (V[]) new Object[this.keyTable.length];
+    }
+
+    /**
+     * Creates a new map identical to the specified map.
+     */
+    public IntMap(IntMap<? extends V> map) {
+        this(map.capacity, map.loadFactor);
+        this.stashSize = map.stashSize;
+        System.arraycopy(map.keyTable, 0, this.keyTable, 0, map.keyTable.length);
+        System.arraycopy(map.valueTable, 0, this.valueTable, 0, map.valueTable.length);
+        this.size = map.size;
+        this.zeroValue = map.zeroValue;
+        this.hasZeroValue = map.hasZeroValue;
+    }
+
+    /**
+     * Associates the value with the key, replacing any previous value.
+     *
+     * @return The previous value, or null if there was none
+     */
+    public V put(int key, V value) {
+        if (key == 0) {
+            final V oldValue = this.zeroValue;
+            this.zeroValue = value;
+            if (!this.hasZeroValue) {
+                this.hasZeroValue = true;
+                this.size++;
+            }
+            return oldValue;
+        }
+
+        final int[] keyTable = this.keyTable;
+
+        // Check for existing keys.
+        final int hashCode = key;
+        final int index1 = hashCode & this.mask;
+        final int key1 = keyTable[index1];
+        if (key == key1) {
+            final V oldValue = this.valueTable[index1];
+            this.valueTable[index1] = value;
+            return oldValue;
+        }
+
+        final int index2 = hash2(hashCode);
+        final int key2 = keyTable[index2];
+        if (key == key2) {
+            final V oldValue = this.valueTable[index2];
+            this.valueTable[index2] = value;
+            return oldValue;
+        }
+
+        final int index3 = hash3(hashCode);
+        final int key3 = keyTable[index3];
+        if (key == key3) {
+            final V oldValue = this.valueTable[index3];
+            this.valueTable[index3] = value;
+            return oldValue;
+        }
+
+        // Update key in the stash.
+        for (int i = this.capacity, n = i + this.stashSize; i < n; i++) {
+            if (key == keyTable[i]) {
+                final V oldValue = this.valueTable[i];
+                this.valueTable[i] = value;
+                return oldValue;
+            }
+        }
+
+        // Check for empty buckets.
+        if (key1 == 0) {
+            keyTable[index1] = key;
+            this.valueTable[index1] = value;
+            if (this.size++ >= this.threshold) {
+                resize(this.capacity << 1);
+            }
+            return null;
+        }
+
+        if (key2 == 0) {
+            keyTable[index2] = key;
+            this.valueTable[index2] = value;
+            if (this.size++ >= this.threshold) {
+                resize(this.capacity << 1);
+            }
+            return null;
+        }
+
+        if (key3 == 0) {
+            keyTable[index3] = key;
+            this.valueTable[index3] = value;
+            if (this.size++ >= this.threshold) {
+                resize(this.capacity << 1);
+            }
+            return null;
+        }
+
+        push(key, value, index1, key1, index2, key2, index3, key3);
+        return null;
+    }
+
+    public void putAll(IntMap<V> map) {
+        ensureCapacity(map.size);
+        for (final Entry<V> entry : map.entries()) {
+            put(entry.key, entry.value);
+        }
+    }
+
+    /**
+     * Skips checks for existing keys.
+     */
+    private void putResize(int key, V value) {
+        if (key == 0) {
+            this.zeroValue = value;
+            this.hasZeroValue = true;
+            return;
+        }
+
+        // Check for empty buckets.
+        final int hashCode = key;
+        final int index1 = hashCode & this.mask;
+        final int key1 = this.keyTable[index1];
+        if (key1 == 0) {
+            this.keyTable[index1] = key;
+            this.valueTable[index1] = value;
+            if (this.size++ >= this.threshold) {
+                resize(this.capacity << 1);
+            }
+            return;
+        }
+
+        final int index2 = hash2(hashCode);
+        final int key2 = this.keyTable[index2];
+        if (key2 == 0) {
+            this.keyTable[index2] = key;
+            this.valueTable[index2] = value;
+            if (this.size++ >= this.threshold) {
+                resize(this.capacity << 1);
+            }
+            return;
+        }
+
+        final int index3 = hash3(hashCode);
+        final int key3 = this.keyTable[index3];
+        if (key3 == 0) {
+            this.keyTable[index3] = key;
+            this.valueTable[index3] = value;
+            if (this.size++ >= this.threshold) {
+                resize(this.capacity << 1);
+            }
+            return;
+        }
+
+        push(key, value, index1, key1, index2, key2, index3, key3);
+    }
+
+    private void push(int insertKey, V insertValue, int index1, int key1, int index2, int key2, int index3, int key3) {
+        final int[] keyTable = this.keyTable;
+        final V[] valueTable = this.valueTable;
+        final int mask = this.mask;
+
+        // Push keys until an empty bucket is found.
+        int evictedKey;
+        V evictedValue;
+        int i = 0;
+        final int pushIterations = this.pushIterations;
+        do {
+            // Replace the key and value for one of the hashes.
+            switch (MathUtils.random(2)) {
+                case 0:
+                    evictedKey = key1;
+                    evictedValue = valueTable[index1];
+                    keyTable[index1] = insertKey;
+                    valueTable[index1] = insertValue;
+                    break;
+                case 1:
+                    evictedKey = key2;
+                    evictedValue = valueTable[index2];
+                    keyTable[index2] = insertKey;
+                    valueTable[index2] = insertValue;
+                    break;
+                default:
+                    evictedKey = key3;
+                    evictedValue = valueTable[index3];
+                    keyTable[index3] = insertKey;
+                    valueTable[index3] = insertValue;
+                    break;
+            }
+
+            // If the evicted key hashes to an empty bucket, put it there and stop.
+            final int hashCode = evictedKey;
+            index1 = hashCode & mask;
+            key1 = keyTable[index1];
+            if (key1 == 0) {
+                keyTable[index1] = evictedKey;
+                valueTable[index1] = evictedValue;
+                if (this.size++ >= this.threshold) {
+                    resize(this.capacity << 1);
+                }
+                return;
+            }
+
+            index2 = hash2(hashCode);
+            key2 = keyTable[index2];
+            if (key2 == 0) {
+                keyTable[index2] = evictedKey;
+                valueTable[index2] = evictedValue;
+                if (this.size++ >= this.threshold) {
+                    resize(this.capacity << 1);
+                }
+                return;
+            }
+
+            index3 = hash3(hashCode);
+            key3 = keyTable[index3];
+            if (key3 == 0) {
+                keyTable[index3] = evictedKey;
+                valueTable[index3] = evictedValue;
+                if (this.size++ >= this.threshold) {
+                    resize(this.capacity << 1);
+                }
+                return;
+            }
+
+            if (++i == pushIterations) {
+                break;
+            }
+
+            insertKey = evictedKey;
+            insertValue = evictedValue;
+        } while (true);
+
+        putStash(evictedKey, evictedValue);
+    }
+
+    private void putStash(int key, V value) {
+        if (this.stashSize == this.stashCapacity) {
+            // Too many pushes occurred and the stash is full, increase the table
+            // size.
+            resize(this.capacity << 1);
+            putResize(key, value);
+            return;
+        }
+        // Store key in the stash.
+        final int index = this.capacity + this.stashSize;
+        this.keyTable[index] = key;
+        this.valueTable[index] = value;
+        this.stashSize++;
+        this.size++;
+    }
+
+    /**
+     * @return The value for the key, or null if the key is not in the map
+     */
+    public V get(int key) {
+        return get(key, null);
+    }
+
+    /**
+     * @return The value for the key, or the default value if the key is not in the map
+     */
+    public V get(int key, V defaultValue) {
+        if (key == 0) {
+            return this.hasZeroValue ? this.zeroValue : defaultValue;
+        }
+
+        final int hashCode = key;
+        int index = hashCode & this.mask;
+        if (key != this.keyTable[index]) {
+            index = hash2(hashCode);
+            if (key != this.keyTable[index]) {
+                index = hash3(hashCode);
+                if (key != this.keyTable[index])
+                    return getStash(key, defaultValue);
+            }
+        }
+        return this.valueTable[index];
+    }
+
+    private V getStash(int key, V defaultValue) {
+        final int[] keyTable = this.keyTable;
+        for (int i = this.capacity, n = i + this.stashSize; i < n; i++)
+            if (key == keyTable[i]) return this.valueTable[i];
+        return defaultValue;
+    }
+
+    /**
+     * @return The value that was removed, or null if the key was not in the map
+     */
+    public V remove(int key) {
+        if (key == 0) {
+            if (!this.hasZeroValue) return null;
+            final V oldValue = this.zeroValue;
+            this.zeroValue = null;
+            this.hasZeroValue = false;
+            this.size--;
+            return oldValue;
+        }
+
+        final int hashCode = key;
+        int index = hashCode & this.mask;
+        if (key == this.keyTable[index]) {
+            this.keyTable[index] = 0;
+            final V oldValue = this.valueTable[index];
+            this.valueTable[index] = null;
+            this.size--;
+            return oldValue;
+        }
+
+        index = hash2(hashCode);
+        if (key == this.keyTable[index]) {
+            this.keyTable[index] = 0;
+            final V oldValue = this.valueTable[index];
+            this.valueTable[index] = null;
+            this.size--;
+            return oldValue;
+        }
+
+        index = hash3(hashCode);
+        if (key == this.keyTable[index]) {
+            this.keyTable[index] = 0;
+            final V oldValue = this.valueTable[index];
+            this.valueTable[index] = null;
+            this.size--;
+            return oldValue;
+        }
+
+        return removeStash(key, null);
+    }
+
+    private V removeStash(int key, V defaultValue) {
+        final int[] keyTable = this.keyTable;
+        for (int i = this.capacity, n = i + this.stashSize; i < n; i++) {
+            if (key == keyTable[i]) {
+                final V oldValue = this.valueTable[i];
+                removeStashIndex(i);
+                this.size--;
+                return oldValue;
+            }
+        }
+        return defaultValue;
+    }
+
+    void removeStashIndex(int index) {
+        // If the removed location was not last, move the last tuple to the removed
+        // location.
+        this.stashSize--;
+        final int lastIndex = this.capacity + this.stashSize;
+        if (index < lastIndex) {
+            this.keyTable[index] = this.keyTable[lastIndex];
+            this.valueTable[index] = this.valueTable[lastIndex];
+        }
+        this.valueTable[lastIndex] = null;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Reduces the size of the backing arrays to be the specified
+     * capacity or less. If the capacity is already less, nothing is
+     * done. If the map contains more items than the specified
+     * capacity, the next highest power of two capacity is used
+     * instead.
+     */
+    public void shrink(int maximumCapacity) {
+        Preconditions.checkExpression(maximumCapacity >= 0, "maximumCapacity must be >= 0: " + maximumCapacity);
+
+        if (this.size > maximumCapacity) {
+            maximumCapacity = this.size;
+        }
+
+        if (this.capacity <= maximumCapacity) return;
+
+        maximumCapacity = MathUtils.nextPowerOfTwo(maximumCapacity);
+        resize(maximumCapacity);
+    }
+
+    /**
+     * Clears the map and reduces the size of the backing arrays to be
+     * the specified capacity if they are larger.
+     */
+    public void clear(int maximumCapacity) {
+        if (this.capacity <= maximumCapacity) {
+            clear();
+            return;
+        }
+        this.zeroValue = null;
+        this.hasZeroValue = false;
+        this.size = 0;
+        resize(maximumCapacity);
+    }
+
+    public void clear() {
+        if (this.size == 0) return;
+
+        final int[] keyTable = this.keyTable;
+        final V[] valueTable = this.valueTable;
+        for (int i = this.capacity + this.stashSize; i-- > 0; ) {
+            keyTable[i] = 0;
+            valueTable[i] = null;
+        }
+        this.zeroValue = null;
+        this.hasZeroValue = false;
+        this.size = 0;
+        this.stashSize = 0;
+    }
+
+    public boolean containsKey(int key) {
+        if (key == 0) return this.hasZeroValue;
+
+        final int hashCode = key;
+        int index = hashCode & this.mask;
+        if (key != this.keyTable[index]) {
+            index = hash2(hashCode);
+            if (key != this.keyTable[index]) {
+                index = hash3(hashCode);
+                if (key != this.keyTable[index])
+                    return containsKeyStash(key);
+            }
+        }
+        return true;
+    }
+
+    private boolean containsKeyStash(int key) {
+        final int[] keyTable = this.keyTable;
+        for (int i = this.capacity, n = i + this.stashSize; i < n; i++)
+            if (key == keyTable[i]) return true;
+        return false;
+    }
+
+    /**
+     * Returns true if the specified value is in the map. Note this
+     * traverses the entire map and compares every value, which may be
+     * an expensive operation.
+     *
+     * @param identity If true, uses == to compare the specified value
+     *                 with values in the map. If false, uses
+     *                 {@link #equals(Object)}.
+     */
+    public boolean containsValue(Object value, boolean identity) {
+        return findIndex(value, identity) != INDEX_NONE;
+    }
+
+    /**
+     * Returns the key for the specified value, or notFound if it is not in the map.
+     * Note this traverses the entire map and compares every value,
+     * which may be an expensive operation.
+     *
+     * @param identity If true, uses == to compare the specified value
+     *                 with values in the map. If false, uses
+     *                 {@link #equals(Object)}.
+     */
+    public int findKey(Object value, boolean identity, int notFound) {
+        final int index = findIndex(value, identity);
+        if (index == INDEX_NONE) return notFound;
+        if (index == INDEX_ZERO) return 0;
+        return this.keyTable[index];
+    }
+
+    private int findIndex(Object value, boolean identity) {
+        final int[] keyTable = this.keyTable;
+        final V[] valueTable = this.valueTable;
+
+        if (this.hasZeroValue && ((identity || (value == null)) ? this.zeroValue == value : value.equals(this.zeroValue)))
+            return INDEX_ZERO;
+
+        if ((value == null) || identity) {
+            for (int i = this.capacity + this.stashSize; i-- > 0; )
+                if ((keyTable[i] != 0) && (valueTable[i] == value)) return i;
+        } else {
+            for (int i = this.capacity + this.stashSize; i-- > 0; )
+                if ((keyTable[i] != 0) && value.equals(valueTable[i])) return i;
+        }
+        return INDEX_NONE;
+    }
+
+    /**
+     * Increases the size of the backing array to accommodate the
+     * specified number of additional items. Useful before adding many
+     * items to avoid multiple backing array resizes.
+     */
+    public void ensureCapacity(int additionalCapacity) {
+        final int required = this.size + additionalCapacity;
+        if (required >= this.threshold) {
+            resize(MathUtils.nextPowerOfTwo((int) (required / this.loadFactor)));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void resize(int newSize) {
+        final int oldEndIndex = this.capacity + this.stashSize;
+
+        this.capacity = newSize;
+        this.threshold = (int) (newSize * this.loadFactor);
+        this.mask = newSize - 1;
+        this.hashShift = CuckooHash.hashShift(newSize);
+        this.stashCapacity = CuckooHash.stashCapacity(newSize);
+        this.pushIterations = CuckooHash.pushIterations(newSize);
+
+        final int[] oldKeyTable = this.keyTable;
+        final V[] oldValueTable = this.valueTable;
+
+        this.keyTable = new int[newSize + this.stashCapacity];
+        this.valueTable = (V[]) new Object[this.keyTable.length];
+
+        final int oldSize = this.size;
+        this.size = this.hasZeroValue ? 1 : 0;
+        this.stashSize = 0;
+        if (oldSize > 0) {
+            for (int i = 0; i < oldEndIndex; i++) {
+                final int key = oldKeyTable[i];
+                if (key != 0) {
+                    putResize(key, oldValueTable[i]);
+                }
+            }
+        }
+    }
+
+    private int hash2(int h) {
+        return CuckooHash.hash2(h, this.hashShift, this.mask);
+    }
+
+    private int hash3(int h) {
+        return CuckooHash.hash3(h, this.hashShift, this.mask);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 0;
+        if (this.hasZeroValue) {
+            h += (this.zeroValue == null ? 0 : this.zeroValue.hashCode());
+        }
+        final int[] keyTable = this.keyTable;
+        final V[] valueTable = this.valueTable;
+        for (int i = 0, n = this.capacity + this.stashSize; i < n; i++) {
+            final int key = keyTable[i];
+            if (key != 0) {
+                h += key ^ (valueTable[i] == null ? 0 : valueTable[i].hashCode());
+            }
+        }
+        return h;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) return true;
+        if (!(obj instanceof IntMap)) return false;
+
+        @SuppressWarnings("unchecked")
+        final IntMap<V> other = (IntMap<V>) obj;
+        if (other.size != this.size) return false;
+        if (other.hasZeroValue != this.hasZeroValue) return false;
+        if (this.hasZeroValue && !(this.zeroValue == null ? other.zeroValue == null : this.zeroValue.equals(other.zeroValue))) return false;
+
+        final int[] keyTable = this.keyTable;
+        final V[] valueTable = this.valueTable;
+        for (int i = 0, n = this.capacity + this.stashSize; i < n; i++) {
+            final int key = keyTable[i];
+            if (key != 0) {
+                final V value = valueTable[i];
+                if (value == null) {
+                    if (!other.containsKey(key) || (other.get(key) != null)) return false;
+                } else if (!value.equals(other.get(key))) return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        if (this.size == 0) return "{}";
+
+        final StringBuilder buffer = new StringBuilder(32);
+        buffer.append('{');
+
+        final int[] keyTable = this.keyTable;
+        final V[] valueTable = this.valueTable;
+        boolean first = true;
+        if (this.hasZeroValue) {
+            buffer.append("0=").append(this.zeroValue);
+            first = false;
+        }
+        for (int i = 0, n = this.capacity + this.stashSize; i < n; i++) {
+            final int key = keyTable[i];
+            if (key == 0) continue;
+
+            if (!first) buffer.append(", ");
+            buffer.append(key).append('=').append(valueTable[i]);
+            first = false;
+        }
+
+        return buffer.append('}').toString();
+    }
+
+    @Override
+    public Entries<V> iterator() {
+        return entries();
+    }
+
+    /**
+     * Returns an iterator for the entries in the map. Remove is
+     * supported. Note that the same iterator instance, and the same
+     * entry instance, is returned each time this method is called.
+     * Use the {@link Entries} constructor for nested or multithreaded
+     * iteration.
+     */
+    public Entries<V> entries() {
+        if (this.entries1 == null) {
+            this.entries1 = new Entries<>(this);
+            this.entries2 = new Entries<>(this);
+        }
+        if (!this.entries1.valid) {
+            this.entries1.reset();
+            this.entries1.valid = true;
+            this.entries2.valid = false;
+            return this.entries1;
+        }
+        this.entries2.reset();
+        this.entries2.valid = true;
+        this.entries1.valid = false;
+        return this.entries2;
+    }
+
+    /**
+     * Returns an iterator for the values in the map. Remove is
+     * supported. Note that the same iterator instance is returned each
+     * time this method is called. Use the {@link Values} constructor
+     * for nested or multithreaded iteration.
+     */
+    public Values<V> values() {
+        if (this.values1 == null) {
+            this.values1 = new Values<>(this);
+            this.values2 = new Values<>(this);
+        }
+        if (!this.values1.valid) {
+            this.values1.reset();
+            this.values1.valid = true;
+            this.values2.valid = false;
+            return this.values1;
+        }
+        this.values2.reset();
+        this.values2.valid = true;
+        this.values1.valid = false;
+        return this.values2;
+    }
+
+    /**
+     * Returns an iterator for the keys in the map. Remove is
+     * supported. Note that the same iterator instance is returned each
+     * time this method is called. Use the {@link Keys} constructor
+     * for nested or multithreaded iteration.
+     */
+    public Keys keys() {
+        if (this.keys1 == null) {
+            this.keys1 = new Keys(this);
+            this.keys2 = new Keys(this);
+        }
+        if (!this.keys1.valid) {
+            this.keys1.reset();
+            this.keys1.valid = true;
+            this.keys2.valid = false;
+            return this.keys1;
+        }
+        this.keys2.reset();
+        this.keys2.valid = true;
+        this.keys1.valid = false;
+        return this.keys2;
+    }
+
+    public static class Entry<V> {
+        public int key;
+        public V value;
+
+        @Override
+        public String toString() {
+            return this.key + "=" + this.value;
+        }
+    }
+
+    private static class MapIterator<V> {
+        public boolean hasNext;
+
+        final IntMap<V> map;
+        int nextIndex, currentIndex;
+        boolean valid = true;
+
+        public MapIterator(IntMap<V> map) {
+            this.map = map;
+            reset();
+        }
+
+        public void reset() {
+            this.currentIndex = INDEX_ILLEGAL;
+            this.nextIndex = INDEX_ZERO;
+            if (this.map.hasZeroValue)
+                this.hasNext = true;
+            else
+                findNextIndex();
+        }
+
+        void findNextIndex() {
+            this.hasNext = false;
+            final int[] keyTable = this.map.keyTable;
+            for (final int n = this.map.capacity + this.map.stashSize; ++this.nextIndex < n; ) {
+                if (keyTable[this.nextIndex] != 0) {
+                    this.hasNext = true;
+                    break;
+                }
+            }
+        }
+
+        public void remove() {
+            if ((this.currentIndex == INDEX_ZERO) && this.map.hasZeroValue) {
+                this.map.hasZeroValue = false;
+                this.map.zeroValue = null;
+            } else if (this.currentIndex < 0) {
+                throw new IllegalStateException("next must be called before remove.");
+            } else if (this.currentIndex >= this.map.capacity) {
+                this.map.removeStashIndex(this.currentIndex);
+                this.nextIndex = this.currentIndex - 1;
+                findNextIndex();
+            } else {
+                this.map.keyTable[this.currentIndex] = 0;
+                this.map.valueTable[this.currentIndex] = null;
+            }
+            this.currentIndex = INDEX_ILLEGAL;
+            this.map.size--;
+        }
+    }
+
+    public static class Entries<V> extends MapIterator<V> implements Iterable<Entry<V>>, Iterator<Entry<V>> {
+        final Entry<V> entry = new Entry<>();
+
+        public Entries(IntMap<V> map) {
+            super(map);
+        }
+
+        /**
+         * Note the same entry instance is returned each time this method is called.
+         */
+        @Override
+        public Entry<V> next() {
+            if (!this.hasNext) throw new NoSuchElementException();
+            Preconditions.checkState(this.valid, "#iterator() cannot be used nested.");
+
+            if (this.nextIndex == INDEX_ZERO) {
+                this.entry.key = 0;
+                this.entry.value = this.map.zeroValue;
+            } else {
+                this.entry.key = this.map.keyTable[this.nextIndex];
+                this.entry.value = this.map.valueTable[this.nextIndex];
+            }
+            this.currentIndex = this.nextIndex;
+            findNextIndex();
+            return this.entry;
+        }
+
+        @Override
+        public boolean hasNext() {
+            Preconditions.checkState(this.valid, "#iterator() cannot be used nested.");
+            return this.hasNext;
+        }
+
+        @Override
+        public Entries<V> iterator() {
+            return this;
+        }
+
+        @Override
+        public void remove() {
+            super.remove();
+        }
+    }
+
+    public static class Values<V> extends MapIterator<V> implements Iterable<V>, Iterator<V> {
+        public Values(IntMap<V> map) {
+            super(map);
+        }
+
+        @Override
+        public boolean hasNext() {
+            Preconditions.checkState(this.valid, "#iterator() cannot be used nested.");
+            return this.hasNext;
+        }
+
+        @Override
+        public V next() {
+            if (!this.hasNext) throw new NoSuchElementException();
+            Preconditions.checkState(this.valid, "#iterator() cannot be used nested.");
+
+            final V value = this.nextIndex == INDEX_ZERO ? this.map.zeroValue : this.map.valueTable[this.nextIndex];
+            this.currentIndex = this.nextIndex;
+            findNextIndex();
+            return value;
+        }
+
+        @Override
+        public Values<V> iterator() {
+            return this;
+        }
+
+        @Override
+        public void remove() {
+            super.remove();
+        }
+
+        /**
+         * Adds the remaining values to the array.
+         */
+        public Array<V> toArray(Array<V> array) {
+            while (this.hasNext) {
+                array.add(next());
+            }
+            return array;
+        }
+
+        /**
+         * Returns a new array containing the remaining values.
+         */
+        public Array<V> toArray() {
+            return toArray(new Array<>(true, this.map.size));
+        }
+    }
+
+    public static class Keys extends MapIterator<Object> {
+        @SuppressWarnings("unchecked")
+        public Keys(IntMap<?> map) {
+            super((IntMap<Object>) map);
+        }
+
+        public boolean hasNext() {
+            Preconditions.checkState(this.valid, "#iterator() cannot be used nested.");
+            return this.hasNext;
+        }
+
+        public int next() {
+            if (!this.hasNext) throw new NoSuchElementException();
+            Preconditions.checkState(this.valid, "#iterator() cannot be used nested.");
+
+            final int value = this.nextIndex == INDEX_ZERO ? 0 : this.map.keyTable[this.nextIndex];
+            this.currentIndex = this.nextIndex;
+            findNextIndex();
+            return value;
+        }
+
+        /**
+         * Adds the remaining keys to the array.
+         */
+        public IntArray toArray(IntArray array) {
+            while (this.hasNext) {
+                array.add(next());
+            }
+            return array;
+        }
+
+        /**
+         * Returns a new array containing the remaining keys.
+         */
+        public IntArray toArray() {
+            return toArray(new IntArray(true, this.map.size));
+        }
+    }
+
+}
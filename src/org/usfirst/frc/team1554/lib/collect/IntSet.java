@@ -0,0 +1,665 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.collect;
+
+import org.usfirst.frc.team1554.lib.math.MathUtils;
+import org.usfirst.frc.team1554.lib.util.Preconditions;
+
+import java.util.NoSuchElementException;
+
+/**
+ * An unordered set of {@code int}s using the same cuckoo hashing as {@link ObjectSet}, see {@link CuckooHash}. Keys are
+ * stored directly in a {@code int[]}, so nothing is boxed and each probe reads the key itself rather than following a
+ * pointer. int 0 marks an empty bucket, so the 0 key is tracked separately. <br />
+ * <br />
+ * The iterator returned by {@link #iterator()} is reused, like {@link ObjectSet#iterator()}; construct a
+ * {@link IntSetIterator} directly for nested or multithreaded iteration.
+ *
+ * @author Glossawy
+ */
+public class IntSet {
+
+    private static final int INDEX_ILLEGAL = -2;
+    private static final int INDEX_ZERO = -1;
+
+    public static IntSet with(int... array) {
+        final IntSet set = new IntSet();
+        set.addAll(array);
+        return set;
+    }
+
+    public int size;
+
+    int[] keyTable;
+    int capacity, stashSize;
+    boolean hasZeroValue;
+
+    private float loadFactor;
+    private int hashShift, mask, threshold;
+    private int stashCapacity;
+    private int pushIterations;
+
+    private IntSetIterator iterOne, iterTwo;
+
+    /**
+     * Creates a new set with an initial capacity of 32 and a load
+     * factor of 0.8. This set will hold 25 items before growing the
+     * backing table.
+     */
+    public IntSet() {
+        this(32, 0.8f);
+    }
+
+    /**
+     * Creates a new set with a load factor of 0.8. This set will hold
+     * initialCapacity * 0.8 items before growing the backing table.
+     */
+    public IntSet(int initialCapacity) {
+        this(initialCapacity, 0.8f);
+    }
+
+    /**
+     * Creates a new set with the specified initial capacity and load
+     * factor. This set will hold initialCapacity * loadFactor items
+     * before growing the backing table.
+     */
+    public IntSet(int initialCapacity, float loadFactor) {
+        this.capacity = CuckooHash.tableCapacity(initialCapacity);
+        this.loadFactor = CuckooHash.checkLoadFactor(loadFactor);
+
+        this.threshold = (int) (this.capacity * loadFactor);
+        this.mask = this.capacity - 1;
+        this.hashShift = CuckooHash.hashShift(this.capacity);
+        this.stashCapacity = CuckooHash.stashCapacity(this.capacity);
+        this.pushIterations = CuckooHash.pushIterations(this.capacity);
+
+        this.keyTable = new int[this.capacity + this.stashCapacity];
+    }
+
+    /**
+     * Creates a new set identical to the specified set.
+     */
+    public IntSet(IntSet set) {
+        this(set.capacity, set.loadFactor);
+        this.stashSize = set.stashSize;
+        System.arraycopy(set.keyTable, 0, this.keyTable, 0, set.keyTable.length);
+        this.size = set.size;
+        this.hasZeroValue = set.hasZeroValue;
+    }
+
+    /**
+     * Returns true if the key was not already in the set.
+     */
+    public boolean add(int key) {
+        if (key == 0) {
+            if (this.hasZeroValue) return false;
+            this.hasZeroValue = true;
+            this.size++;
+            return true;
+        }
+
+        final int[] keyTable = this.keyTable;
+
+        // Check for existing keys.
+        final int hashCode = key;
+        final int index1 = hashCode & this.mask;
+        final int key1 = keyTable[index1];
+        if (key1 == key) return false;
+
+        final int index2 = hash(hashCode);
+        final int key2 = keyTable[index2];
+        if (key2 == key) return false;
+
+        final int index3 = hash2(hashCode);
+        final int key3 = keyTable[index3];
+        if (key3 == key) return false;
+
+        // Find key in the stash.
+        for (int i = this.capacity, n = i + this.stashSize; i < n; i++) {
+            if (keyTable[i] == key) return false;
+        }
+
+        // Check for empty buckets.
+        if (key1 == 0) {
+            keyTable[index1] = key;
+            if (this.size++ >= this.threshold) {
+                resize(this.capacity << 1);
+            }
+            return true;
+        }
+
+        if (key2 == 0) {
+            keyTable[index2] = key;
+            if (this.size++ >= this.threshold) {
+                resize(this.capacity << 1);
+            }
+            return true;
+        }
+
+        if (key3 == 0) {
+            keyTable[index3] = key;
+            if (this.size++ >= this.threshold) {
+                resize(this.capacity << 1);
+            }
+            return true;
+        }
+
+        push(key, index1, key1, index2, key2, index3, key3);
+        return true;
+    }
+
+    public void addAll(IntArray array) {
+        addAll(array, 0, array.size());
+    }
+
+    public void addAll(IntArray array, int offset, int length) {
+        if ((offset + length) > array.size())
+            throw new IllegalArgumentException("offset + length must be <= size: " + offset + " + " + length + " <= " + array.size());
+        addAll(array.items, offset, length);
+    }
+
+    public void addAll(int... array) {
+        addAll(array, 0, array.length);
+    }
+
+    public void addAll(int[] array, int offset, int length) {
+        ensureCapacity(length);
+        for (int i = offset, n = i + length; i < n; i++) {
+            add(array[i]);
+        }
+    }
+
+    public void addAll(IntSet set) {
+        ensureCapacity(set.size);
+        final IntSetIterator iterator = new IntSetIterator(set);
+        while (iterator.hasNext) {
+            add(iterator.next());
+        }
+    }
+
+    /**
+     * Skips checks for existing keys.
+     */
+    private void addResize(int key) {
+        if (key == 0) {
+            this.hasZeroValue = true;
+            return;
+        }
+
+        // Check for empty buckets.
+        final int hashCode = key;
+        final int index1 = hashCode & this.mask;
+        final int key1 = this.keyTable[index1];
+        if (key1 == 0) {
+            this.keyTable[index1] = key;
+            if (this.size++ >= this.threshold) {
+                resize(this.capacity << 1);
+            }
+            return;
+        }
+
+        final int index2 = hash(hashCode);
+        final int key2 = this.keyTable[index2];
+        if (key2 == 0) {
+            this.keyTable[index2] = key;
+            if (this.size++ >= this.threshold) {
+                resize(this.capacity << 1);
+            }
+            return;
+        }
+
+        final int index3 = hash2(hashCode);
+        final int key3 = this.keyTable[index3];
+        if (key3 == 0) {
+            this.keyTable[index3] = key;
+            if (this.size++ >= this.threshold) {
+                resize(this.capacity << 1);
+            }
+            return;
+        }
+
+        push(key, index1, key1, index2, key2, index3, key3);
+    }
+
+    private void push(int insertKey, int index1, int key1, int index2, int key2, int index3, int key3) {
+        final int[] keyTable = this.keyTable;
+        final int mask = this.mask;
+
+        // Push keys until an empty bucket is found.
+        int evictedKey;
+        int i = 0;
+        final int pushIterations = this.pushIterations;
+        do {
+            // Replace the key and value for one of the hashes.
+            switch (MathUtils.random(2)) {
+                case 0:
+                    evictedKey = key1;
+                    keyTable[index1] = insertKey;
+                    break;
+                case 1:
+                    evictedKey = key2;
+                    keyTable[index2] = insertKey;
+                    break;
+                default:
+                    evictedKey = key3;
+                    keyTable[index3] = insertKey;
+                    break;
+            }
+
+            // If the evicted key hashes to an empty bucket, put it there and stop.
+            final int hashCode = evictedKey;
+            index1 = hashCode & mask;
+            key1 = keyTable[index1];
+            if (key1 == 0) {
+                keyTable[index1] = evictedKey;
+                if (this.size++ >= this.threshold) {
+                    resize(this.capacity << 1);
+                }
+                return;
+            }
+
+            index2 = hash(hashCode);
+            key2 = keyTable[index2];
+            if (key2 == 0) {
+                keyTable[index2] = evictedKey;
+                if (this.size++ >= this.threshold) {
+                    resize(this.capacity << 1);
+                }
+                return;
+            }
+
+            index3 = hash2(hashCode);
+            key3 = keyTable[index3];
+            if (key3 == 0) {
+                keyTable[index3] = evictedKey;
+                if (this.size++ >= this.threshold) {
+                    resize(this.capacity << 1);
+                }
+                return;
+            }
+
+            if (++i == pushIterations) {
+                break;
+            }
+
+            insertKey = evictedKey;
+        } while (true);
+
+        addStash(evictedKey);
+    }
+
+    private void addStash(int key) {
+        if (this.stashSize == this.stashCapacity) {
+            // Too many pushes occurred and the stash is full, increase the table
+            // size.
+            resize(this.capacity << 1);
+            addResize(key);
+            return;
+        }
+        // Store key in the stash.
+        final int index = this.capacity + this.stashSize;
+        this.keyTable[index] = key;
+        this.stashSize++;
+        this.size++;
+    }
+
+    /**
+     * Returns true if the key was removed.
+     */
+    public boolean remove(int key) {
+        if (key == 0) {
+            if (!this.hasZeroValue) return false;
+            this.hasZeroValue = false;
+            this.size--;
+            return true;
+        }
+
+        final int hashCode = key;
+        int index = hashCode & this.mask;
+        if (this.keyTable[index] == key) {
+            this.keyTable[index] = 0;
+            this.size--;
+            return true;
+        }
+
+        index = hash(hashCode);
+        if (this.keyTable[index] == key) {
+            this.keyTable[index] = 0;
+            this.size--;
+            return true;
+        }
+
+        index = hash2(hashCode);
+        if (this.keyTable[index] == key) {
+            this.keyTable[index] = 0;
+            this.size--;
+            return true;
+        }
+
+        return removeStash(key);
+    }
+
+    private boolean removeStash(int key) {
+        for (int i = this.capacity, n = i + this.stashSize; i < n; i++) {
+            if (this.keyTable[i] == key) {
+                removeStashIndex(i);
+                this.size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void removeStashIndex(int index) {
+        // If the removed location was not last, move the last tuple to the removed
+        // location.
+        this.stashSize--;
+        final int lastIndex = this.capacity + this.stashSize;
+        if (index < lastIndex) {
+            this.keyTable[index] = this.keyTable[lastIndex];
+        }
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Reduces the size of the backing arrays to be the specified
+     * capacity or less. If the capacity is already less, nothing is
+     * done. If the set contains more items than the specified
+     * capacity, the next highest power of two capacity is used
+     * instead.
+     */
+    public void shrink(int maximumCapacity) {
+        Preconditions.checkExpression(maximumCapacity >= 0, "maximumCapacity must be >= 0: " + maximumCapacity);
+
+        if (this.size > maximumCapacity) {
+            maximumCapacity = this.size;
+        }
+
+        if (this.capacity <= maximumCapacity) return;
+
+        maximumCapacity = MathUtils.nextPowerOfTwo(maximumCapacity);
+        resize(maximumCapacity);
+    }
+
+    /**
+     * Clears the set and reduces the size of the backing arrays to be
+     * the specified capacity if they are larger.
+     */
+    public void clear(int maximumCapacity) {
+        if (this.capacity <= maximumCapacity) {
+            clear();
+            return;
+        }
+        this.hasZeroValue = false;
+        this.size = 0;
+        resize(maximumCapacity);
+    }
+
+    public void clear() {
+        if (this.size == 0) return;
+
+        final int[] keyTable = this.keyTable;
+        for (int i = this.capacity + this.stashSize; i-- > 0; ) {
+            keyTable[i] = 0;
+        }
+        this.hasZeroValue = false;
+        this.size = 0;
+        this.stashSize = 0;
+    }
+
+    public boolean contains(int key) {
+        if (key == 0) return this.hasZeroValue;
+
+        final int hashCode = key;
+        int index = hashCode & this.mask;
+        if (this.keyTable[index] != key) {
+            index = hash(hashCode);
+            if (this.keyTable[index] != key) {
+                index = hash2(hashCode);
+                if (this.keyTable[index] != key)
+                    return containsKeyStash(key);
+            }
+        }
+        return true;
+    }
+
+    private boolean containsKeyStash(int key) {
+        final int[] keyTable = this.keyTable;
+        for (int i = this.capacity, n = i + this.stashSize; i < n; i++)
+            if (keyTable[i] == key) return true;
+        return false;
+    }
+
+    public int first() {
+        if (this.hasZeroValue) return 0;
+        final int[] keyTable = this.keyTable;
+        for (int i = 0, n = this.capacity + this.stashSize; i < n; i++)
+            if (keyTable[i] != 0) return keyTable[i];
+        throw new IllegalStateException("IntSet is empty.");
+    }
+
+    /**
+     * Increases the size of the backing array to accommodate the
+     * specified number of additional items. Useful before adding many
+     * items to avoid multiple backing array resizes.
+     */
+    public void ensureCapacity(int additionalCapacity) {
+        final int required = this.size + additionalCapacity;
+        if (required >= this.threshold) {
+            resize(MathUtils.nextPowerOfTwo((int) (required / this.loadFactor)));
+        }
+    }
+
+    private void resize(int newSize) {
+        final int oldEndIndex = this.capacity + this.stashSize;
+
+        this.capacity = newSize;
+        this.threshold = (int) (newSize * this.loadFactor);
+        this.mask = newSize - 1;
+        this.hashShift = CuckooHash.hashShift(newSize);
+        this.stashCapacity = CuckooHash.stashCapacity(newSize);
+        this.pushIterations = CuckooHash.pushIterations(newSize);
+
+        final int[] oldKeyTable = this.keyTable;
+
+        this.keyTable = new int[newSize + this.stashCapacity];
+
+        final int oldSize = this.size;
+        this.size = this.hasZeroValue ? 1 : 0;
+        this.stashSize = 0;
+        if (oldSize > 0) {
+            for (int i = 0; i < oldEndIndex; i++) {
+                final int key = oldKeyTable[i];
+                if (key != 0) {
+                    addResize(key);
+                }
+            }
+        }
+    }
+
+    private int hash(int h) {
+        return CuckooHash.hash2(h, this.hashShift, this.mask);
+    }
+
+    private int hash2(int h) {
+        return CuckooHash.hash3(h, this.hashShift, this.mask);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 0;
+        final int[] keyTable = this.keyTable;
+        for (int i = 0, n = this.capacity + this.stashSize; i < n; i++) {
+            if (keyTable[i] != 0) {
+                h += keyTable[i];
+            }
+        }
+        return h;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) return true;
+        if (!(obj instanceof IntSet)) return false;
+
+        final IntSet other = (IntSet) obj;
+        if ((other.size != this.size) || (other.hasZeroValue != this.hasZeroValue)) return false;
+
+        final int[] keyTable = this.keyTable;
+        for (int i = 0, n = this.capacity + this.stashSize; i < n; i++)
+            if ((keyTable[i] != 0) && !other.contains(keyTable[i])) return false;
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return '{' + toString(", ") + '}';
+    }
+
+    public String toString(String separator) {
+        if (this.size == 0) return "";
+        final StringBuilder buffer = new StringBuilder(32);
+        boolean first = true;
+        if (this.hasZeroValue) {
+            buffer.append('0');
+            first = false;
+        }
+
+        final int[] keyTable = this.keyTable;
+        for (int i = 0, n = this.capacity + this.stashSize; i < n; i++) {
+            final int key = keyTable[i];
+            if (key == 0) continue;
+
+            if (!first) buffer.append(separator);
+            buffer.append(key);
+            first = false;
+        }
+        return buffer.toString();
+    }
+
+    /**
+     * Returns an iterator for the keys in the set. Remove is
+     * supported. Note that the same iterator instance is returned
+     * each time this method is called. Use the {@link
+     * IntSetIterator} constructor for nested or multithreaded
+     * iteration.
+     */
+    public IntSetIterator iterator() {
+        if (this.iterOne == null) {
+            this.iterOne = new IntSetIterator(this);
+            this.iterTwo = new IntSetIterator(this);
+        }
+        if (!this.iterOne.valid) {
+            this.iterOne.reset();
+            this.iterOne.valid = true;
+            this.iterTwo.valid = false;
+            return this.iterOne;
+        }
+        this.iterTwo.reset();
+        this.iterTwo.valid = true;
+        this.iterOne.valid = false;
+        return this.iterTwo;
+    }
+
+    public static class IntSetIterator {
+        public boolean hasNext;
+
+        final IntSet set;
+        int nextIndex, currentIndex;
+        boolean valid = true;
+
+        public IntSetIterator(IntSet set) {
+            this.set = set;
+            reset();
+        }
+
+        public void reset() {
+            this.currentIndex = INDEX_ILLEGAL;
+            this.nextIndex = INDEX_ZERO;
+            if (this.set.hasZeroValue)
+                this.hasNext = true;
+            else
+                findNextIndex();
+        }
+
+        void findNextIndex() {
+            this.hasNext = false;
+            final int[] keyTable = this.set.keyTable;
+            for (final int n = this.set.capacity + this.set.stashSize; ++this.nextIndex < n; ) {
+                if (keyTable[this.nextIndex] != 0) {
+                    this.hasNext = true;
+                    break;
+                }
+            }
+        }
+
+        public void remove() {
+            if ((this.currentIndex == INDEX_ZERO) && this.set.hasZeroValue) {
+                this.set.hasZeroValue = false;
+            } else if (this.currentIndex < 0) {
+                throw new IllegalStateException("next must be called before remove.");
+            } else if (this.currentIndex >= this.set.capacity) {
+                this.set.removeStashIndex(this.currentIndex);
+                this.nextIndex = this.currentIndex - 1;
+                findNextIndex();
+            } else {
+                this.set.keyTable[this.currentIndex] = 0;
+            }
+            this.currentIndex = INDEX_ILLEGAL;
+            this.set.size--;
+        }
+
+        public boolean hasNext() {
+            Preconditions.checkState(this.valid, "#iterator() cannot be used nested.");
+            return this.hasNext;
+        }
+
+        public int next() {
+            if (!this.hasNext) throw new NoSuchElementException();
+            Preconditions.checkState(this.valid, "#iterator() cannot be used nested.");
+
+            final int key = this.nextIndex == INDEX_ZERO ? 0 : this.set.keyTable[this.nextIndex];
+            this.currentIndex = this.nextIndex;
+            findNextIndex();
+            return key;
+        }
+
+        /**
+         * Adds the remaining values to the array.
+         */
+        public IntArray toArray(IntArray array) {
+            while (this.hasNext) {
+                array.add(next());
+            }
+            return array;
+        }
+
+        /**
+         * Returns a new array containing the remaining values.
+         */
+        public IntArray toArray() {
+            return toArray(new IntArray(true, this.set.size));
+        }
+    }
+}
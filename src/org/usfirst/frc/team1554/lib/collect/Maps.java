@@ -48,6 +48,83 @@ public class Maps {
         return new HashMap<>(map);
     }
 
+    public static <K, V> ObjectMap<K, V> newObjectMap() {
+        return new ObjectMap<>();
+    }
+
+    public static <K, V> ObjectMap<K, V> newObjectMapWithExpectedSize(int estimation) {
+        return new ObjectMap<>(CuckooHash.capacityFor(estimation));
+    }
+
+    public static <K, V> ObjectMap<K, V> newObjectMap(ObjectMap<? extends K, ? extends V> map) {
+        Preconditions.checkNotNull(map);
+        return new ObjectMap<>(map);
+    }
+
+    public static <K, V> OrderedMap<K, V> newOrderedMap() {
+        return new OrderedMap<>();
+    }
+
+    public static <K, V> OrderedMap<K, V> newOrderedMapWithExpectedSize(int estimation) {
+        return new OrderedMap<>(CuckooHash.capacityFor(estimation));
+    }
+
+    public static <K, V> IdentityMap<K, V> newIdentityMap() {
+        return new IdentityMap<>();
+    }
+
+    public static <K, V> IdentityMap<K, V> newIdentityMapWithExpectedSize(int estimation) {
+        return new IdentityMap<>(CuckooHash.capacityFor(estimation));
+    }
+
+    public static <K, V> ConcurrentObjectMap<K, V> newConcurrentObjectMap() {
+        return new ConcurrentObjectMap<>();
+    }
+
+    public static <K, V> ConcurrentObjectMap<K, V> newConcurrentObjectMapWithExpectedSize(int estimation) {
+        return new ConcurrentObjectMap<>(estimation);
+    }
+
+    public static <V> IntMap<V> newIntMap() {
+        return new IntMap<>();
+    }
+
+    public static <V> IntMap<V> newIntMapWithExpectedSize(int estimation) {
+        return new IntMap<>(CuckooHash.capacityFor(estimation));
+    }
+
+    public static <V> LongMap<V> newLongMap() {
+        return new LongMap<>();
+    }
+
+    public static <V> LongMap<V> newLongMapWithExpectedSize(int estimation) {
+        return new LongMap<>(CuckooHash.capacityFor(estimation));
+    }
+
+    public static IntIntMap newIntIntMap() {
+        return new IntIntMap();
+    }
+
+    public static IntIntMap newIntIntMapWithExpectedSize(int estimation) {
+        return new IntIntMap(CuckooHash.capacityFor(estimation));
+    }
+
+    public static IntFloatMap newIntFloatMap() {
+        return new IntFloatMap();
+    }
+
+    public static IntFloatMap newIntFloatMapWithExpectedSize(int estimation) {
+        return new IntFloatMap(CuckooHash.capacityFor(estimation));
+    }
+
+    public static <K> ObjectIntMap<K> newObjectIntMap() {
+        return new ObjectIntMap<>();
+    }
+
+    public static <K> ObjectIntMap<K> newObjectIntMapWithExpectedSize(int estimation) {
+        return new ObjectIntMap<>(CuckooHash.capacityFor(estimation));
+    }
+
     public static <K extends Enum<K>, V> EnumMap<K, V> newEnumMap(Class<K> type) {
         return new EnumMap<>(type);
     }
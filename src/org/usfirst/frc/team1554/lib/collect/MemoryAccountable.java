@@ -0,0 +1,55 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.collect;
+
+/**
+ * A collection that can report how much memory it holds on to, so oversized or mostly empty collections can be found
+ * and trimmed in long-running code.
+ *
+ * @author Glossawy
+ */
+public interface MemoryAccountable {
+
+    /**
+     * @return Number of elements in use
+     */
+    int size();
+
+    /**
+     * @return Number of elements that fit before the collection has to grow
+     */
+    int capacity();
+
+    /**
+     * Estimated bytes held by the collection itself: the object and its backing storage. Elements referenced by an
+     * object collection are not counted since they may be shared.
+     *
+     * @return Estimated Retained Bytes
+     */
+    long estimatedRetainedBytes();
+
+    /**
+     * @return Slots allocated but not in use
+     */
+    default int unusedCapacity() {
+        return capacity() - size();
+    }
+}
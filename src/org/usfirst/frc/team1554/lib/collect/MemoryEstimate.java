@@ -0,0 +1,68 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.collect;
+
+/**
+ * Rough sizes of objects and arrays on a HotSpot heap, for the collections' memory accounting. Assumes compressed
+ * references and class pointers on a 64-bit JVM with a heap under 32GB, which is the default there, and 8 byte
+ * object alignment. The numbers are estimates, good for finding oversized collections, not for exact budgeting.
+ *
+ * @author Glossawy
+ */
+final class MemoryEstimate {
+
+    static final int REFERENCE_BYTES;
+    static final int OBJECT_HEADER_BYTES;
+    static final int ARRAY_HEADER_BYTES;
+
+    static {
+        final boolean is64Bit = "64".equals(System.getProperty("sun.arch.data.model")) || System.getProperty("os.arch", "").contains("64");
+        final boolean compressed = !is64Bit || (Runtime.getRuntime().maxMemory() < (32L << 30));
+
+        REFERENCE_BYTES = (is64Bit && !compressed) ? 8 : 4;
+        OBJECT_HEADER_BYTES = is64Bit ? (compressed ? 12 : 16) : 8;
+        ARRAY_HEADER_BYTES = is64Bit ? (compressed ? 16 : 24) : 12;
+    }
+
+    private MemoryEstimate() {
+    }
+
+    /**
+     * @param length       Array Length
+     * @param elementBytes Bytes per Element
+     * @return Estimated size of an array in bytes, header and padding included
+     */
+    static long array(int length, int elementBytes) {
+        return align(ARRAY_HEADER_BYTES + ((long) length * elementBytes));
+    }
+
+    /**
+     * @param fieldBytes Total size of the instance fields
+     * @return Estimated size of an object in bytes, header and padding included
+     */
+    static long object(int fieldBytes) {
+        return align(OBJECT_HEADER_BYTES + fieldBytes);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
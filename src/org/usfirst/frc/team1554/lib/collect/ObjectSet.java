@@ -23,14 +23,18 @@ package org.usfirst.frc.team1554.lib.collect;
 import org.usfirst.frc.team1554.lib.math.MathUtils;
 import org.usfirst.frc.team1554.lib.util.Preconditions;
 
+import java.util.AbstractSet;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class ObjectSet<T> implements Iterable<T> {
 
-    private static final int PRIME1 = 0xB4B82E39;
-    private static final int PRIME2 = 0xCED1C241;
-
     @SafeVarargs
     public static <T> ObjectSet<T> with(T... array) {
         final ObjectSet<T> set = new ObjectSet<>();
@@ -49,6 +53,7 @@ public class ObjectSet<T> implements Iterable<T> {
     private int pushIterations;
 
     private ObjectSetIterator<T> iterOne, iterTwo;
+    private SetView<T> set;
 
     /**
      * Creates a new set with an initial capacity of 32 and a load
@@ -74,21 +79,14 @@ public class ObjectSet<T> implements Iterable<T> {
      */
     @SuppressWarnings("unchecked")
     public ObjectSet(int initialCapacity, float loadFactor) {
-        if (initialCapacity < 0)
-            throw new IllegalArgumentException("initialCapacity must be >= 0: " + initialCapacity);
-        if (initialCapacity > (1 << 30))
-            throw new IllegalArgumentException("initialCapacity is too large: " + initialCapacity);
-        this.capacity = MathUtils.nextPowerOfTwo(initialCapacity);
-
-        if (loadFactor <= 0)
-            throw new IllegalArgumentException("loadFactor must be > 0: " + loadFactor);
-        this.loadFactor = loadFactor;
+        this.capacity = CuckooHash.tableCapacity(initialCapacity);
+        this.loadFactor = CuckooHash.checkLoadFactor(loadFactor);
 
         this.threshold = (int) (this.capacity * loadFactor);
         this.mask = this.capacity - 1;
-        this.hashShift = 31 - Integer.numberOfTrailingZeros(this.capacity);
-        this.stashCapacity = Math.max(3, (int) Math.ceil(Math.log(this.capacity)) * 2);
-        this.pushIterations = Math.max(Math.min(this.capacity, 8), (int) Math.sqrt(this.capacity) / 8);
+        this.hashShift = CuckooHash.hashShift(this.capacity);
+        this.stashCapacity = CuckooHash.stashCapacity(this.capacity);
+        this.pushIterations = CuckooHash.pushIterations(this.capacity);
 
         this.keyTable = (T[]) new Object[this.capacity + this.stashCapacity];
     }
@@ -294,7 +292,7 @@ public class ObjectSet<T> implements Iterable<T> {
             // Too many pushes occurred and the stash is full, increase the table
             // size.
             resize(this.capacity << 1);
-            add(key);
+            addResize(key);
             return;
         }
         // Store key in the stash.
@@ -442,9 +440,9 @@ public class ObjectSet<T> implements Iterable<T> {
         this.capacity = newSize;
         this.threshold = (int) (newSize * this.loadFactor);
         this.mask = newSize - 1;
-        this.hashShift = 31 - Integer.numberOfTrailingZeros(newSize);
-        this.stashCapacity = Math.max(3, (int) Math.ceil(Math.log(newSize)) * 2);
-        this.pushIterations = Math.max(Math.min(newSize, 8), (int) Math.sqrt(newSize) / 8);
+        this.hashShift = CuckooHash.hashShift(newSize);
+        this.stashCapacity = CuckooHash.stashCapacity(newSize);
+        this.pushIterations = CuckooHash.pushIterations(newSize);
 
         final T[] oldKeyTable = this.keyTable;
 
@@ -464,13 +462,11 @@ public class ObjectSet<T> implements Iterable<T> {
     }
 
     private int hash(int h) {
-        h *= PRIME1;
-        return (h ^ (h >>> this.hashShift)) & this.mask;
+        return CuckooHash.hash2(h, this.hashShift, this.mask);
     }
 
     private int hash2(int h) {
-        h *= PRIME2;
-        return (h ^ (h >>> this.hashShift)) & this.mask;
+        return CuckooHash.hash3(h, this.hashShift, this.mask);
     }
 
     @Override
@@ -528,6 +524,169 @@ public class ObjectSet<T> implements Iterable<T> {
         return this.iterTwo;
     }
 
+    /**
+     * @return A new iterator, independent of the two returned by {@link #iterator()}
+     */
+    ObjectSetIterator<T> newIterator() {
+        return new ObjectSetIterator<>(this);
+    }
+
+    /**
+     * Returns a spliterator that splits on the backing table, so
+     * parallel streams divide the work by table ranges instead of
+     * buffering elements from an iterator. The spliterator is bound
+     * to the table when created and the set must not be modified
+     * while it is in use.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new ObjectSetSpliterator<>(this.keyTable, 0, this.capacity + this.stashSize, this.size, true, true);
+    }
+
+    /**
+     * Returns a {@link Set} view of this set. The view reads and writes
+     * straight through to the hash table without copying, so changes
+     * to either are visible in the other. Null is never contained and
+     * can not be added.
+     */
+    public Set<T> asSet() {
+        if (this.set == null)
+            this.set = new SetView<>(this);
+
+        return this.set;
+    }
+
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    static final class SetView<K> extends AbstractSet<K> {
+        private final ObjectSet<K> set;
+
+        SetView(ObjectSet<K> set) {
+            this.set = set;
+        }
+
+        @Override
+        public int size() {
+            return this.set.size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean contains(Object o) {
+            return (o != null) && this.set.contains((K) o);
+        }
+
+        @Override
+        public boolean add(K k) {
+            return this.set.add(k);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean remove(Object o) {
+            return (o != null) && this.set.remove((K) o);
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends K> c) {
+            this.set.ensureCapacity(c.size());
+            return super.addAll(c);
+        }
+
+        @Override
+        public void clear() {
+            this.set.clear();
+        }
+
+        @Override
+        public Iterator<K> iterator() {
+            // A fresh iterator, the set's own two are kept for its callers
+            return this.set.newIterator();
+        }
+
+        @Override
+        public Spliterator<K> spliterator() {
+            return this.set.spliterator();
+        }
+    }
+
+    static final class ObjectSetSpliterator<K> implements Spliterator<K> {
+        private final K[] keyTable;
+        private final boolean distinct;
+        private boolean exact;
+        private int index, fence;
+        private int estimate;
+
+        /**
+         * @param distinct Whether keys are distinct by equals, which is not so for an {@link IdentitySet}
+         */
+        ObjectSetSpliterator(K[] keyTable, int origin, int fence, int estimate, boolean exact, boolean distinct) {
+            this.keyTable = keyTable;
+            this.index = origin;
+            this.fence = fence;
+            this.estimate = estimate;
+            this.exact = exact;
+            this.distinct = distinct;
+        }
+
+        @Override
+        public Spliterator<K> trySplit() {
+            final int lo = this.index, mid = (lo + this.fence) >>> 1;
+            if (lo >= mid) return null;
+
+            // Keys are spread evenly by the hash, so each half holds about half of them. That is only a guess, so neither
+            // half can claim to be SIZED any more.
+            this.estimate >>>= 1;
+            this.exact = false;
+            this.index = mid;
+            return new ObjectSetSpliterator<>(this.keyTable, lo, mid, this.estimate, false, this.distinct);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super K> action) {
+            final K[] keyTable = this.keyTable;
+
+            while (this.index < this.fence) {
+                final K key = keyTable[this.index++];
+                if (key != null) {
+                    action.accept(key);
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super K> action) {
+            final K[] keyTable = this.keyTable;
+
+            for (int i = this.index, n = this.fence; i < n; i++) {
+                final K key = keyTable[i];
+                if (key != null)
+                    action.accept(key);
+            }
+
+            this.index = this.fence;
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return (this.exact ? Spliterator.SIZED : 0) | (this.distinct ? Spliterator.DISTINCT : 0) | Spliterator.NONNULL;
+        }
+    }
+
     public static class ObjectSetIterator<K> implements Iterable<K>, Iterator<K> {
         public boolean hasNext;
 
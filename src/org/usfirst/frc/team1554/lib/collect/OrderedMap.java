@@ -0,0 +1,320 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.collect;
+
+import org.usfirst.frc.team1554.lib.util.Preconditions;
+
+import java.util.NoSuchElementException;
+
+/**
+ * An {@link ObjectMap} that also keeps its keys in an {@link Array} in insertion order. Lookups still go through the
+ * cuckoo table and stay O(1), while {@link #entries()}, {@link #keys()}, {@link #values()} and {@link #toString()}
+ * follow the order in which keys were first put. Replacing the value of an existing key does not move it. <br />
+ * <br />
+ * Removing a key must also find it in the array, so {@link #remove(Object)} is O(n); {@link #removeIndex(int)} is not.
+ *
+ * @author Glossawy
+ */
+public class OrderedMap<K, V> extends ObjectMap<K, V> {
+
+    final Array<K> keys;
+
+    private OrderedMapEntries<K, V> entries1, entries2;
+    private OrderedMapValues<V> values1, values2;
+    private OrderedMapKeys<K> keys1, keys2;
+
+    public OrderedMap() {
+        this.keys = new Array<>();
+    }
+
+    public OrderedMap(int initialCapacity) {
+        super(initialCapacity);
+        this.keys = new Array<>(true, this.capacity);
+    }
+
+    public OrderedMap(int initialCapacity, float loadFactor) {
+        super(initialCapacity, loadFactor);
+        this.keys = new Array<>(true, this.capacity);
+    }
+
+    /**
+     * Creates a new map identical to the specified map, in the same order.
+     */
+    public OrderedMap(OrderedMap<? extends K, ? extends V> map) {
+        super(map);
+        this.keys = new Array<>(map.keys);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        final int oldSize = this.size;
+        final V oldValue = super.put(key, value);
+        if (this.size != oldSize) {
+            this.keys.add(key);
+        }
+        return oldValue;
+    }
+
+    @Override
+    public V remove(K key) {
+        final int oldSize = this.size;
+        final V oldValue = super.remove(key);
+        if (this.size != oldSize) {
+            this.keys.removeValue(key, false);
+        }
+        return oldValue;
+    }
+
+    /**
+     * Removes the entry at the specified position in the iteration order.
+     *
+     * @return The value of the removed entry
+     */
+    public V removeIndex(int index) {
+        return super.remove(this.keys.removeIndex(index));
+    }
+
+    @Override
+    public void clear(int maximumCapacity) {
+        this.keys.clear();
+        super.clear(maximumCapacity);
+    }
+
+    @Override
+    public void clear() {
+        this.keys.clear();
+        super.clear();
+    }
+
+    /**
+     * Returns the keys in insertion order. The array is the one backing this map, no copy is made, and it must not be
+     * modified.
+     */
+    public Array<K> orderedKeys() {
+        return this.keys;
+    }
+
+    @Override
+    public String toString() {
+        if (this.size == 0) return "{}";
+
+        final K[] keys = this.keys.items;
+        final StringBuilder buffer = new StringBuilder(32);
+        buffer.append('{');
+        for (int i = 0; i < this.size; i++) {
+            if (i > 0) buffer.append(", ");
+            buffer.append(keys[i]).append('=').append(get(keys[i]));
+        }
+        return buffer.append('}').toString();
+    }
+
+    @Override
+    public Entries<K, V> iterator() {
+        return entries();
+    }
+
+    /**
+     * Returns an iterator for the entries in insertion order. Remove is supported. Note that the same iterator
+     * instance, and the same entry instance, is returned each time this method is called. Use the
+     * {@link OrderedMapEntries} constructor for nested or multithreaded iteration.
+     */
+    @Override
+    public Entries<K, V> entries() {
+        if (this.entries1 == null) {
+            this.entries1 = new OrderedMapEntries<>(this);
+            this.entries2 = new OrderedMapEntries<>(this);
+        }
+        if (!this.entries1.valid) {
+            this.entries1.reset();
+            this.entries1.valid = true;
+            this.entries2.valid = false;
+            return this.entries1;
+        }
+        this.entries2.reset();
+        this.entries2.valid = true;
+        this.entries1.valid = false;
+        return this.entries2;
+    }
+
+    /**
+     * Returns an iterator for the values in insertion order. Remove is supported. Note that the same iterator instance
+     * is returned each time this method is called. Use the {@link OrderedMapValues} constructor for nested or
+     * multithreaded iteration.
+     */
+    @Override
+    public Values<V> values() {
+        if (this.values1 == null) {
+            this.values1 = new OrderedMapValues<>(this);
+            this.values2 = new OrderedMapValues<>(this);
+        }
+        if (!this.values1.valid) {
+            this.values1.reset();
+            this.values1.valid = true;
+            this.values2.valid = false;
+            return this.values1;
+        }
+        this.values2.reset();
+        this.values2.valid = true;
+        this.values1.valid = false;
+        return this.values2;
+    }
+
+    /**
+     * Returns an iterator for the keys in insertion order. Remove is supported. Note that the same iterator instance is
+     * returned each time this method is called. Use the {@link OrderedMapKeys} constructor for nested or multithreaded
+     * iteration.
+     */
+    @Override
+    public Keys<K> keys() {
+        if (this.keys1 == null) {
+            this.keys1 = new OrderedMapKeys<>(this);
+            this.keys2 = new OrderedMapKeys<>(this);
+        }
+        if (!this.keys1.valid) {
+            this.keys1.reset();
+            this.keys1.valid = true;
+            this.keys2.valid = false;
+            return this.keys1;
+        }
+        this.keys2.reset();
+        this.keys2.valid = true;
+        this.keys1.valid = false;
+        return this.keys2;
+    }
+
+    public static class OrderedMapEntries<K, V> extends Entries<K, V> {
+        private final Array<K> keys;
+
+        public OrderedMapEntries(OrderedMap<K, V> map) {
+            super(map);
+            this.keys = map.keys;
+        }
+
+        @Override
+        public void reset() {
+            this.currentIndex = -1;
+            this.nextIndex = 0;
+            this.hasNext = this.map.size > 0;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!this.hasNext) throw new NoSuchElementException();
+            Preconditions.checkState(this.valid, "#iterator() cannot be used nested.");
+
+            this.entry.key = this.keys.get(this.nextIndex);
+            this.entry.value = this.map.get(this.entry.key);
+            this.currentIndex = this.nextIndex;
+            this.nextIndex++;
+            this.hasNext = this.nextIndex < this.map.size;
+            return this.entry;
+        }
+
+        @Override
+        public void remove() {
+            if (this.currentIndex < 0)
+                throw new IllegalStateException("next must be called before remove.");
+
+            ((OrderedMap<K, V>) this.map).removeIndex(this.currentIndex);
+            this.nextIndex = this.currentIndex;
+            this.hasNext = this.nextIndex < this.map.size;
+            this.currentIndex = -1;
+        }
+    }
+
+    public static class OrderedMapValues<V> extends Values<V> {
+        private final Array<?> keys;
+
+        public OrderedMapValues(OrderedMap<?, V> map) {
+            super(map);
+            this.keys = map.keys;
+        }
+
+        @Override
+        public void reset() {
+            this.currentIndex = -1;
+            this.nextIndex = 0;
+            this.hasNext = this.map.size > 0;
+        }
+
+        @Override
+        public V next() {
+            if (!this.hasNext) throw new NoSuchElementException();
+            Preconditions.checkState(this.valid, "#iterator() cannot be used nested.");
+
+            final V value = this.map.get(this.keys.get(this.nextIndex));
+            this.currentIndex = this.nextIndex;
+            this.nextIndex++;
+            this.hasNext = this.nextIndex < this.map.size;
+            return value;
+        }
+
+        @Override
+        public void remove() {
+            if (this.currentIndex < 0)
+                throw new IllegalStateException("next must be called before remove.");
+
+            ((OrderedMap<?, V>) this.map).removeIndex(this.currentIndex);
+            this.nextIndex = this.currentIndex;
+            this.hasNext = this.nextIndex < this.map.size;
+            this.currentIndex = -1;
+        }
+    }
+
+    public static class OrderedMapKeys<K> extends Keys<K> {
+        private final Array<K> keys;
+
+        public OrderedMapKeys(OrderedMap<K, ?> map) {
+            super(map);
+            this.keys = map.keys;
+        }
+
+        @Override
+        public void reset() {
+            this.currentIndex = -1;
+            this.nextIndex = 0;
+            this.hasNext = this.map.size > 0;
+        }
+
+        @Override
+        public K next() {
+            if (!this.hasNext) throw new NoSuchElementException();
+            Preconditions.checkState(this.valid, "#iterator() cannot be used nested.");
+
+            final K key = this.keys.get(this.nextIndex);
+            this.currentIndex = this.nextIndex;
+            this.nextIndex++;
+            this.hasNext = this.nextIndex < this.map.size;
+            return key;
+        }
+
+        @Override
+        public void remove() {
+            if (this.currentIndex < 0)
+                throw new IllegalStateException("next must be called before remove.");
+
+            ((OrderedMap<K, ?>) this.map).removeIndex(this.currentIndex);
+            this.nextIndex = this.currentIndex;
+            this.hasNext = this.nextIndex < this.map.size;
+            this.currentIndex = -1;
+        }
+    }
+}
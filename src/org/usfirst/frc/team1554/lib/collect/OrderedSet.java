@@ -0,0 +1,213 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.collect;
+
+import org.usfirst.frc.team1554.lib.util.Preconditions;
+
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * An {@link ObjectSet} that also keeps its keys in an {@link Array} in insertion order. Lookups still go through the
+ * cuckoo table and stay O(1), while iteration, {@link #first()}, {@link #toString()} and streams follow the order in
+ * which keys were added. Adding a key that is already present does not move it. <br />
+ * <br />
+ * Removing a key must also find it in the array, so {@link #remove(Object)} is O(n); {@link #removeIndex(int)} is not.
+ *
+ * @author Glossawy
+ */
+public class OrderedSet<T> extends ObjectSet<T> {
+
+    @SafeVarargs
+    public static <T> OrderedSet<T> with(T... array) {
+        final OrderedSet<T> set = new OrderedSet<>();
+        set.addAll(array);
+        return set;
+    }
+
+    final Array<T> items;
+
+    private OrderedSetIterator<T> iterOne, iterTwo;
+
+    public OrderedSet() {
+        this.items = new Array<>();
+    }
+
+    public OrderedSet(int initialCapacity) {
+        super(initialCapacity);
+        this.items = new Array<>(true, this.capacity);
+    }
+
+    public OrderedSet(int initialCapacity, float loadFactor) {
+        super(initialCapacity, loadFactor);
+        this.items = new Array<>(true, this.capacity);
+    }
+
+    /**
+     * Creates a new set identical to the specified set, in the same order.
+     */
+    public OrderedSet(OrderedSet<? extends T> set) {
+        super(set);
+        this.items = new Array<>(set.items);
+    }
+
+    @Override
+    public boolean add(T key) {
+        if (!super.add(key)) return false;
+
+        this.items.add(key);
+        return true;
+    }
+
+    @Override
+    public boolean remove(T key) {
+        if (!super.remove(key)) return false;
+
+        this.items.removeValue(key, false);
+        return true;
+    }
+
+    /**
+     * Removes the key at the specified position in the iteration order.
+     *
+     * @return The removed key
+     */
+    public T removeIndex(int index) {
+        final T key = this.items.removeIndex(index);
+        super.remove(key);
+        return key;
+    }
+
+    @Override
+    public void clear(int maximumCapacity) {
+        this.items.clear();
+        super.clear(maximumCapacity);
+    }
+
+    @Override
+    public void clear() {
+        this.items.clear();
+        super.clear();
+    }
+
+    @Override
+    public T first() {
+        Preconditions.checkState(this.size > 0, "OrderedSet is empty.");
+        return this.items.first();
+    }
+
+    /**
+     * Returns the keys in insertion order. The array is the one backing this set, no copy is made, and it must not be
+     * modified.
+     */
+    public Array<T> orderedItems() {
+        return this.items;
+    }
+
+    @Override
+    public String toString(String separator) {
+        if (this.size == 0) return "";
+
+        final T[] items = this.items.items;
+        final StringBuilder buffer = new StringBuilder(32);
+        buffer.append(items[0]);
+        for (int i = 1; i < this.size; i++) {
+            buffer.append(separator).append(items[i]);
+        }
+        return buffer.toString();
+    }
+
+    /**
+     * Returns an iterator for the keys in insertion order. Remove is supported. Note that the same iterator instance is
+     * returned each time this method is called. Use the {@link OrderedSetIterator} constructor for nested or
+     * multithreaded iteration.
+     */
+    @Override
+    public OrderedSetIterator<T> iterator() {
+        if (this.iterOne == null) {
+            this.iterOne = new OrderedSetIterator<>(this);
+            this.iterTwo = new OrderedSetIterator<>(this);
+        }
+        if (!this.iterOne.valid) {
+            this.iterOne.reset();
+            this.iterOne.valid = true;
+            this.iterTwo.valid = false;
+            return this.iterOne;
+        }
+        this.iterTwo.reset();
+        this.iterTwo.valid = true;
+        this.iterOne.valid = false;
+        return this.iterTwo;
+    }
+
+    @Override
+    ObjectSetIterator<T> newIterator() {
+        return new OrderedSetIterator<>(this);
+    }
+
+    /**
+     * Returns a spliterator over the keys in insertion order. The set must not be modified while it is in use.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(this.items.items, 0, this.size, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    public static class OrderedSetIterator<K> extends ObjectSetIterator<K> {
+        private final Array<K> items;
+
+        public OrderedSetIterator(OrderedSet<K> set) {
+            super(set);
+            this.items = set.items;
+        }
+
+        @Override
+        public void reset() {
+            this.currentIndex = -1;
+            this.nextIndex = 0;
+            this.hasNext = this.set.size > 0;
+        }
+
+        @Override
+        public K next() {
+            if (!this.hasNext) throw new NoSuchElementException();
+            Preconditions.checkState(this.valid, "#iterator() cannot be used nested.");
+
+            final K key = this.items.get(this.nextIndex);
+            this.currentIndex = this.nextIndex;
+            this.nextIndex++;
+            this.hasNext = this.nextIndex < this.set.size;
+            return key;
+        }
+
+        @Override
+        public void remove() {
+            if (this.currentIndex < 0)
+                throw new IllegalStateException("next must be called before remove.");
+
+            ((OrderedSet<K>) this.set).removeIndex(this.currentIndex);
+            this.nextIndex = this.currentIndex;
+            this.hasNext = this.nextIndex < this.set.size;
+            this.currentIndex = -1;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.collect;
+
+import org.usfirst.frc.team1554.lib.util.Preconditions;
+
+import java.util.Comparator;
+
+/**
+ * Quickselect for finding the k-th ranked element of an object array in expected linear time without sorting it.
+ * Selection may reorder the array in place: afterwards everything before the returned index ranks no higher and
+ * everything after it ranks no lower. The minimum and maximum are found with a plain scan and leave the order as it was.
+ *
+ * @author Glossawy
+ */
+final class Select {
+
+    private Select() {
+    }
+
+    /**
+     * Find the index of the k-th lowest element of a[0, size) according to the comparator. The lowest element has
+     * rank 1. The array is reordered.
+     *
+     * @param a          Array to Select From
+     * @param comparator Ordering
+     * @param kth        Rank, from 1 to size
+     * @param size       Number of Elements in use
+     * @return Index of the k-th ranked element
+     */
+    static <T> int selectIndex(T[] a, Comparator<? super T> comparator, int kth, int size) {
+        Preconditions.checkElementIndex(kth - 1, size, "kth");
+
+        // Minimum and maximum need just a scan and leave the array as it was
+        if (kth == 1) return extreme(a, comparator, size, 1);
+        if (kth == size) return extreme(a, comparator, size, -1);
+
+        final int target = kth - 1;
+        int left = 0, right = size - 1;
+
+        while (right > left) {
+            final T pivot = a[medianOfThree(a, comparator, left, right)];
+
+            // Three-way partition: [left, lt) below the pivot, [lt, gt] equal to it, (gt, right] above it. Keeping the
+            // equal band together keeps inputs full of duplicates linear rather than quadratic.
+            int lt = left, gt = right, i = left;
+            while (i <= gt) {
+                final int cmp = comparator.compare(a[i], pivot);
+
+                if (cmp < 0) swap(a, lt++, i++);
+                else if (cmp > 0) swap(a, i, gt--);
+                else i++;
+            }
+
+            if (target < lt) right = lt - 1;
+            else if (target > gt) left = gt + 1;
+            else return target;
+        }
+
+        return target;
+    }
+
+    private static <T> int extreme(T[] a, Comparator<? super T> comparator, int size, int sign) {
+        int index = 0;
+
+        for (int i = 1; i < size; i++)
+            if ((sign * comparator.compare(a[index], a[i])) > 0)
+                index = i;
+
+        return index;
+    }
+
+    private static <T> int medianOfThree(T[] a, Comparator<? super T> c, int left, int right) {
+        final int mid = (left + right) >>> 1;
+        final T l = a[left], m = a[mid], r = a[right];
+
+        if (c.compare(l, m) < 0) {
+            if (c.compare(m, r) < 0) return mid;
+            return c.compare(l, r) < 0 ? right : left;
+        }
+
+        if (c.compare(l, r) < 0) return left;
+        return c.compare(m, r) < 0 ? right : mid;
+    }
+
+    private static void swap(Object[] a, int i, int j) {
+        final Object temp = a[i];
+        a[i] = a[j];
+        a[j] = temp;
+    }
+}
@@ -0,0 +1,251 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.collect;
+
+import com.sun.istack.internal.NotNull;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.Predicate;
+
+/**
+ * An Array that can be modified while it is being iterated. {@link #begin()} hands out a snapshot of the backing
+ * array which stays unchanged until the matching {@link #end()}. The backing array is only copied if the Array is
+ * actually modified while a snapshot is out, and the old backing array is recycled as the next copy once every
+ * snapshot has ended. So a tick that modifies nothing allocates nothing, and one that does usually does not either.
+ * <pre>
+ * T[] items = array.begin();
+ * for (int i = 0, n = array.size(); i < n; i++) {
+ *     T item = items[i];
+ *     // May add to or remove from 'array'
+ * }
+ * array.end();
+ * </pre>
+ * {@link #size()} must be read before iterating since modifications change it. Snapshots may be nested, the backing
+ * array is shared by all of them. Iterating with {@link #iterator()} still sees modifications immediately.
+ *
+ * @param <T> Element Type
+ * @author Glossawy
+ */
+public class SnapshotArray<T> extends Array<T> {
+
+    @SafeVarargs
+    public static <T> SnapshotArray<T> with(T... array) {
+        return new SnapshotArray<>(array);
+    }
+
+    private T[] snapshot, recycled;
+    private int snapshots;
+
+    public SnapshotArray() {
+        super();
+    }
+
+    public SnapshotArray(Class<? extends T> arrayType) {
+        super(arrayType);
+    }
+
+    public SnapshotArray(boolean ordered, int capacity) {
+        super(ordered, capacity);
+    }
+
+    public SnapshotArray(boolean ordered, int capacity, @SuppressWarnings("rawtypes") Class arrayType) {
+        super(ordered, capacity, arrayType);
+    }
+
+    public SnapshotArray(Array<? extends T> array) {
+        super(array);
+    }
+
+    public SnapshotArray(T[] array) {
+        super(array);
+    }
+
+    public SnapshotArray(boolean ordered, T[] arr, int start, int count) {
+        super(ordered, arr, start, count);
+    }
+
+    /**
+     * Returns the backing array, guaranteed not to change until {@link #end()} is called.
+     *
+     * @return Snapshot of the Items
+     */
+    public T[] begin() {
+        // Nothing is copied here, only a modification while the snapshot is out copies the backing array
+        this.snapshot = this.items;
+        this.snapshots++;
+        return this.items;
+    }
+
+    /**
+     * Releases the snapshot handed out by the last {@link #begin()}. Once every snapshot has ended, a snapshot that
+     * was replaced by a modification is kept to be reused by the next one.
+     */
+    public void end() {
+        this.snapshots = Math.max(0, this.snapshots - 1);
+        if ((this.snapshot == null) || (this.snapshots > 0)) return;
+
+        if (this.snapshot != this.items) {
+            Arrays.fill(this.snapshot, null);
+            this.recycled = this.snapshot;
+        }
+
+        this.snapshot = null;
+    }
+
+    /**
+     * Called before any change to the backing array, which is copied first if a snapshot of it is in use.
+     */
+    private void modified() {
+        if ((this.snapshot == null) || (this.snapshot != this.items)) return;
+
+        final T[] recycled = this.recycled;
+        if ((recycled != null) && (recycled.length >= size())) {
+            System.arraycopy(this.items, 0, recycled, 0, size());
+            this.items = recycled;
+            this.recycled = null;
+        } else
+            resize(this.items.length);
+    }
+
+    /**
+     * Also counts the spare backing array kept for the next copy.
+     */
+    @Override
+    public long estimatedRetainedBytes() {
+        final long spare = this.recycled == null ? 0 : MemoryEstimate.array(this.recycled.length, MemoryEstimate.REFERENCE_BYTES);
+        return super.estimatedRetainedBytes() + MemoryEstimate.REFERENCE_BYTES * 2 + 4 + spare;
+    }
+
+    @Override
+    public void add(T value) {
+        modified();
+        super.add(value);
+    }
+
+    @Override
+    public void addAll(T[] array, int start, int count) {
+        modified();
+        super.addAll(array, start, count);
+    }
+
+    @Override
+    public void set(int index, T value) {
+        modified();
+        super.set(index, value);
+    }
+
+    @Override
+    public void insert(int index, T value) {
+        modified();
+        super.insert(index, value);
+    }
+
+    @Override
+    public void swap(int first, int second) {
+        modified();
+        super.swap(first, second);
+    }
+
+    @Override
+    public T removeIndex(int index) {
+        modified();
+        return super.removeIndex(index);
+    }
+
+    @Override
+    public void removeRange(int start, int end) {
+        modified();
+        super.removeRange(start, end);
+    }
+
+    @Override
+    public boolean removeAll(@NotNull Array<? extends T> array, boolean identityComparison) {
+        modified();
+        return super.removeAll(array, identityComparison);
+    }
+
+    @Override
+    public boolean retainAll(@NotNull Array<? extends T> array, boolean identityComparison) {
+        modified();
+        return super.retainAll(array, identityComparison);
+    }
+
+    @Override
+    public boolean removeIf(@NotNull Predicate<? super T> filter) {
+        modified();
+        return super.removeIf(filter);
+    }
+
+    @Override
+    public boolean retainIf(@NotNull Predicate<? super T> filter) {
+        modified();
+        return super.retainIf(filter);
+    }
+
+    @Override
+    public T pop() {
+        modified();
+        return super.pop();
+    }
+
+    @Override
+    public void clear() {
+        modified();
+        super.clear();
+    }
+
+    @Override
+    public Array<T> sort() {
+        modified();
+        return super.sort();
+    }
+
+    @Override
+    public Array<T> sort(Comparator<? super T> comparator) {
+        modified();
+        return super.sort(comparator);
+    }
+
+    @Override
+    public int selectRankedIndex(Comparator<? super T> comparator, int kth) {
+        modified();
+        return super.selectRankedIndex(comparator, kth);
+    }
+
+    @Override
+    public Array<T> reverse() {
+        modified();
+        return super.reverse();
+    }
+
+    @Override
+    public Array<T> shuffle() {
+        modified();
+        return super.shuffle();
+    }
+
+    @Override
+    public void truncate(int newSize) {
+        modified();
+        super.truncate(newSize);
+    }
+}
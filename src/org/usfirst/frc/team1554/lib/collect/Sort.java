@@ -0,0 +1,149 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.collect;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Stable, in-place merge sort for object arrays. Each thread gets one instance through {@link #instance()} whose merge
+ * buffer is kept between sorts, so repeatedly sorting an array of a similar size allocates nothing. <br />
+ * <br />
+ * Short runs are insertion sorted and merges of runs that are already in order are skipped, so nearly sorted input
+ * is sorted in close to linear time.
+ *
+ * @author Glossawy
+ */
+public final class Sort {
+
+    private static final int INSERTION_THRESHOLD = 32;
+
+    private static final ThreadLocal<Sort> instances = ThreadLocal.withInitial(Sort::new);
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final Comparator NATURAL = (a, b) -> ((Comparable) a).compareTo(b);
+
+    /**
+     * @return This thread's Sort instance
+     */
+    public static Sort instance() {
+        return instances.get();
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Comparator<T> natural() {
+        return NATURAL;
+    }
+
+    private Object[] buffer = new Object[0];
+
+    /**
+     * Sort the whole array by natural order, every element must be {@link Comparable}.
+     *
+     * @param a Array to Sort
+     */
+    public <T> void sort(T[] a) {
+        sort(a, natural(), 0, a.length);
+    }
+
+    /**
+     * Sort the whole array with the given comparator.
+     *
+     * @param a          Array to Sort
+     * @param comparator Ordering
+     */
+    public <T> void sort(T[] a, Comparator<? super T> comparator) {
+        sort(a, comparator, 0, a.length);
+    }
+
+    /**
+     * Sort the range [from, to) of the array with the given comparator.
+     *
+     * @param a          Array to Sort
+     * @param comparator Ordering
+     * @param from       First Index, inclusive
+     * @param to         Last Index, exclusive
+     */
+    public <T> void sort(T[] a, Comparator<? super T> comparator, int from, int to) {
+        if ((to - from) < 2) return;
+
+        // Never more than half of the range is held in the buffer at once
+        final int required = (to - from + 1) >>> 1;
+        if (this.buffer.length < required)
+            this.buffer = new Object[Math.max(required, this.buffer.length + (this.buffer.length >>> 1))];
+
+        try {
+            mergeSort(a, comparator, from, to);
+        } finally {
+            // Do not keep sorted elements reachable from the buffer
+            Arrays.fill(this.buffer, 0, required, null);
+        }
+    }
+
+    private <T> void mergeSort(T[] a, Comparator<? super T> c, int from, int to) {
+        if ((to - from) <= INSERTION_THRESHOLD) {
+            insertionSort(a, c, from, to);
+            return;
+        }
+
+        final int mid = (from + to) >>> 1;
+        mergeSort(a, c, from, mid);
+        mergeSort(a, c, mid, to);
+
+        // Already in order, nothing to merge
+        if (c.compare(a[mid - 1], a[mid]) <= 0) return;
+
+        merge(a, c, from, mid, to);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void merge(T[] a, Comparator<? super T> c, int from, int mid, int to) {
+        final Object[] left = this.buffer;
+        final int leftLength = mid - from;
+        System.arraycopy(a, from, left, 0, leftLength);
+
+        int i = 0, j = mid, k = from;
+        while ((i < leftLength) && (j < to)) {
+            // Ties go to the left run to keep the sort stable
+            if (c.compare(a[j], (T) left[i]) < 0)
+                a[k++] = a[j++];
+            else
+                a[k++] = (T) left[i++];
+        }
+
+        // Whatever remains of the right run is already in place
+        System.arraycopy(left, i, a, k, leftLength - i);
+    }
+
+    private static <T> void insertionSort(T[] a, Comparator<? super T> c, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            final T value = a[i];
+            int j = i - 1;
+
+            while ((j >= from) && (c.compare(a[j], value) > 0)) {
+                a[j + 1] = a[j];
+                j--;
+            }
+
+            a[j + 1] = value;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.collect;
+
+import com.sun.istack.internal.NotNull;
+import com.sun.istack.internal.Nullable;
+import org.usfirst.frc.team1554.lib.util.Preconditions;
+
+import java.util.Comparator;
+
+/**
+ * An ordered Array that keeps its elements sorted by a comparator. {@link #add(Object)} binary searches for the slot
+ * to insert at, after any equal elements, and {@link #indexOf(Object, boolean)}, {@link #contains(Object, boolean)} and
+ * the range queries {@link #headIndex(Object, boolean)} and {@link #tailIndex(Object, boolean)} run in O(log n). <br />
+ * <br />
+ * Operations that would place an element out of order (set, insert at an index, swap, reverse, shuffle, sorting by
+ * another comparator) throw an UnsupportedOperationException. Elements must not be changed in a way that affects
+ * their ordering while they are in the array.
+ *
+ * @param <T> Element Type
+ * @author Glossawy
+ */
+public class SortedArray<T> extends Array<T> {
+
+    /**
+     * @param <T> Comparable Element Type
+     * @return Empty array sorted by natural order
+     */
+    public static <T extends Comparable<? super T>> SortedArray<T> natural() {
+        return new SortedArray<>(Sort.<T>natural());
+    }
+
+    private final Comparator<? super T> comparator;
+
+    public SortedArray(@NotNull Comparator<? super T> comparator) {
+        this(comparator, 16);
+    }
+
+    public SortedArray(@NotNull Comparator<? super T> comparator, int capacity) {
+        super(true, capacity);
+        this.comparator = Preconditions.checkNotNull(comparator);
+    }
+
+    public SortedArray(@NotNull Comparator<? super T> comparator, int capacity, @SuppressWarnings("rawtypes") Class arrayType) {
+        super(true, capacity, arrayType);
+        this.comparator = Preconditions.checkNotNull(comparator);
+    }
+
+    public Comparator<? super T> comparator() {
+        return this.comparator;
+    }
+
+    /**
+     * Insert the value at its sorted position, after any elements equal to it.
+     *
+     * @param value Value to Add
+     */
+    @Override
+    public void add(T value) {
+        super.insert(upperBound(value), value);
+    }
+
+    /**
+     * Appends the values then restores order with a merge sort, which is close to linear when the values are already
+     * sorted or few.
+     */
+    @Override
+    public void addAll(T[] array, int start, int count) {
+        super.addAll(array, start, count);
+        super.sort(this.comparator);
+    }
+
+    /**
+     * Finds an element equal to the value with a binary search over the elements that compare equal to it. Null is not
+     * given to the comparator, it is looked for with a linear scan.
+     */
+    @Override
+    public int indexOf(@Nullable T value, boolean identityComparison) {
+        if (value == null) return super.indexOf(null, identityComparison);
+
+        for (int i = lowerBound(value), n = upperBound(value); i < n; i++)
+            if (matches(this.items[i], value, identityComparison)) return i;
+
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(@Nullable T value, boolean identityComparison) {
+        if (value == null) return super.lastIndexOf(null, identityComparison);
+
+        for (int i = upperBound(value) - 1, n = lowerBound(value); i >= n; i--)
+            if (matches(this.items[i], value, identityComparison)) return i;
+
+        return -1;
+    }
+
+    @Override
+    public boolean contains(@Nullable T value, boolean identityComparison) {
+        return indexOf(value, identityComparison) >= 0;
+    }
+
+    /**
+     * Binary search for a value by the comparator alone.
+     *
+     * @param value Value to Find
+     * @return Index of an element comparing equal to the value, or (-(insertion point) - 1) if there is none
+     */
+    public int binarySearch(T value) {
+        final int index = lowerBound(value);
+        return (index < size()) && (this.comparator.compare(this.items[index], value) == 0) ? index : -(index + 1);
+    }
+
+    /**
+     * End of the head of the array, the elements less than the value, or less than or equal to it if inclusive.
+     *
+     * @param value     Bound
+     * @param inclusive Whether elements equal to the value are part of the head
+     * @return Exclusive end index of the head, from 0 to size
+     */
+    public int headIndex(T value, boolean inclusive) {
+        return inclusive ? upperBound(value) : lowerBound(value);
+    }
+
+    /**
+     * Start of the tail of the array, the elements greater than or equal to the value, or greater than it if not
+     * inclusive.
+     *
+     * @param value     Bound
+     * @param inclusive Whether elements equal to the value are part of the tail
+     * @return Inclusive start index of the tail, from 0 to size
+     */
+    public int tailIndex(T value, boolean inclusive) {
+        return inclusive ? lowerBound(value) : upperBound(value);
+    }
+
+    /**
+     * @return First index whose element is not less than the value
+     */
+    private int lowerBound(T value) {
+        final T[] items = this.items;
+        int low = 0, high = size();
+
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (this.comparator.compare(items[mid], value) < 0) low = mid + 1;
+            else high = mid;
+        }
+
+        return low;
+    }
+
+    /**
+     * @return First index whose element is greater than the value
+     */
+    private int upperBound(T value) {
+        final T[] items = this.items;
+        int low = 0, high = size();
+
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (this.comparator.compare(items[mid], value) <= 0) low = mid + 1;
+            else high = mid;
+        }
+
+        return low;
+    }
+
+    private static boolean matches(Object element, Object value, boolean identityComparison) {
+        return (identityComparison || (value == null)) ? element == value : value.equals(element);
+    }
+
+    /**
+     * Already sorted, does nothing.
+     */
+    @Override
+    public Array<T> sort() {
+        return this;
+    }
+
+    /**
+     * Does nothing if given this array's comparator, sorting by any other would break the order.
+     */
+    @Override
+    public Array<T> sort(Comparator<? super T> comparator) {
+        if (comparator != this.comparator)
+            throw unsorted("sort by another comparator");
+
+        return this;
+    }
+
+    /**
+     * With this array's comparator the k-th ranked element is simply at index k - 1, any other comparator would
+     * reorder the array.
+     */
+    @Override
+    public int selectRankedIndex(Comparator<? super T> comparator, int kth) {
+        if (comparator != this.comparator)
+            throw unsorted("select by another comparator");
+
+        Preconditions.checkElementIndex(kth - 1, size(), "kth");
+        return kth - 1;
+    }
+
+    @Override
+    public void set(int index, T value) {
+        throw unsorted("set");
+    }
+
+    @Override
+    public void insert(int index, T value) {
+        throw unsorted("insert at an index");
+    }
+
+    @Override
+    public void swap(int first, int second) {
+        throw unsorted("swap");
+    }
+
+    @Override
+    public Array<T> reverse() {
+        throw unsorted("reverse");
+    }
+
+    @Override
+    public Array<T> shuffle() {
+        throw unsorted("shuffle");
+    }
+
+    private static UnsupportedOperationException unsorted(String operation) {
+        return new UnsupportedOperationException("Cannot " + operation + " in a SortedArray!");
+    }
+}
@@ -0,0 +1,189 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.collect;
+
+/**
+ * An {@link FloatArray} that keeps its values in ascending order, as Arrays.sort orders them, NaN last. {@link #add(float)} binary searches for the slot to
+ * insert at, and {@link #indexOf(float)}, {@link #contains(float)} and the range queries {@link #headIndex(float, boolean)}
+ * and {@link #tailIndex(float, boolean)} run in O(log n). <br />
+ * <br />
+ * Operations that would place a value out of order (set, insert at an index, swap, incr, mul, reverse, shuffle) throw
+ * an UnsupportedOperationException.
+ *
+ * @author Glossawy
+ */
+public class SortedFloatArray extends FloatArray {
+
+    public static SortedFloatArray with(float... array) {
+        final SortedFloatArray sorted = new SortedFloatArray(array.length);
+        sorted.addAll(array, 0, array.length);
+        return sorted;
+    }
+
+    public SortedFloatArray() {
+        this(16);
+    }
+
+    public SortedFloatArray(int capacity) {
+        super(true, capacity);
+    }
+
+    /**
+     * Insert the value at its sorted position, after any equal values.
+     *
+     * @param value Value to Add
+     */
+    @Override
+    public void add(float value) {
+        super.insert(upperBound(value), value);
+    }
+
+    /**
+     * Appends the values then sorts.
+     */
+    @Override
+    public void addAll(float[] array, int start, int count) {
+        super.addAll(array, start, count);
+        super.sort();
+    }
+
+    @Override
+    public int indexOf(float value) {
+        final int index = lowerBound(value);
+        return (index < size()) && (Float.compare(this.items[index], value) == 0) ? index : -1;
+    }
+
+    @Override
+    public int lastIndexOf(float value) {
+        final int index = upperBound(value) - 1;
+        return (index >= 0) && (Float.compare(this.items[index], value) == 0) ? index : -1;
+    }
+
+    @Override
+    public boolean contains(float value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * @param value Value to Find
+     * @return Index of the value, or (-(insertion point) - 1) if it is not present
+     */
+    public int binarySearch(float value) {
+        final int index = lowerBound(value);
+        return (index < size()) && (Float.compare(this.items[index], value) == 0) ? index : -(index + 1);
+    }
+
+    /**
+     * End of the head of the array, the values less than the value, or less than or equal to it if inclusive.
+     *
+     * @param value     Bound
+     * @param inclusive Whether values equal to the bound are part of the head
+     * @return Exclusive end index of the head, from 0 to size
+     */
+    public int headIndex(float value, boolean inclusive) {
+        return inclusive ? upperBound(value) : lowerBound(value);
+    }
+
+    /**
+     * Start of the tail of the array, the values greater than or equal to the value, or greater than it if not
+     * inclusive.
+     *
+     * @param value     Bound
+     * @param inclusive Whether values equal to the bound are part of the tail
+     * @return Inclusive start index of the tail, from 0 to size
+     */
+    public int tailIndex(float value, boolean inclusive) {
+        return inclusive ? lowerBound(value) : upperBound(value);
+    }
+
+    private int lowerBound(float value) {
+        final float[] items = this.items;
+        int low = 0, high = size();
+
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (Float.compare(items[mid], value) < 0) low = mid + 1;
+            else high = mid;
+        }
+
+        return low;
+    }
+
+    private int upperBound(float value) {
+        final float[] items = this.items;
+        int low = 0, high = size();
+
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (Float.compare(items[mid], value) <= 0) low = mid + 1;
+            else high = mid;
+        }
+
+        return low;
+    }
+
+    /**
+     * Already sorted, does nothing.
+     */
+    @Override
+    public FloatArray sort() {
+        return this;
+    }
+
+    @Override
+    public void set(int index, float value) {
+        throw unsorted("set");
+    }
+
+    @Override
+    public void insert(int index, float value) {
+        throw unsorted("insert at an index");
+    }
+
+    @Override
+    public void swap(int first, int second) {
+        throw unsorted("swap");
+    }
+
+    @Override
+    public float incr(int index, float value) {
+        throw unsorted("incr");
+    }
+
+    @Override
+    public float mul(int index, float value) {
+        throw unsorted("mul");
+    }
+
+    @Override
+    public FloatArray reverse() {
+        throw unsorted("reverse");
+    }
+
+    @Override
+    public FloatArray shuffle() {
+        throw unsorted("shuffle");
+    }
+
+    private static UnsupportedOperationException unsorted(String operation) {
+        return new UnsupportedOperationException("Cannot " + operation + " in a SortedFloatArray!");
+    }
+}
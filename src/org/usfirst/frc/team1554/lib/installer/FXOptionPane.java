@@ -34,13 +34,19 @@ import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 import javafx.stage.Window;
+import org.usfirst.frc.team1554.lib.collect.Array;
+import org.usfirst.frc.team1554.lib.collect.Maps;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public final class FXOptionPane extends Stage {
@@ -50,26 +56,93 @@ public final class FXOptionPane extends Stage {
     public static final int BUTTON_WIDTH = 60;
     public static final int MARGIN = 10;
 
-    @SuppressWarnings("ConstantConditions")
-    private FXOptionPane(Builder builder) {
+    /**
+     * Maximum number of idle panes kept per {@link Modality}
+     */
+    public static final int POOL_SIZE = 4;
+
+    private static final EnumMap<Modality, Array<FXOptionPane>> pool = Maps.newEnumMap(Modality.class);
+
+    private final boolean pooled;
+
+    private final BorderPane root = new BorderPane();
+    private final ImageView icon = new ImageView();
+    private final DropShadow iconShadow = new DropShadow(0, Color.LIGHTGRAY);
+    private final Label label = new Label();
+    private final HBox msgBox = new HBox();
+    private final HBox btnBox = new HBox();
+    private final Button accept = createButton();
+    private final Button reject = createButton();
+
+    private Runnable onClose;
+
+    private FXOptionPane(Window owner, Modality modality) {
         super(StageStyle.UTILITY);
 
-        if (builder.owner != null) {
-            initOwner(builder.owner);
+        // Owner and Modality can only be set before the first show, so only owner-less panes can be reused
+        this.pooled = owner == null;
+        if (owner != null) {
+            initOwner(owner);
         }
 
-        initModality(builder.modality);
+        initModality(modality);
+        FXGuiUtils.makeAlwaysOnTop(this);
+        setOnShown(event -> StartupTimer.firstFrame());
+        setOnHidden(event -> release(this));
+
+        this.label.setWrapText(false);
+        this.label.setMinWidth(MESSAGE_MIN_WIDTH);
+        this.label.setMaxWidth(MESSAGE_MAX_WIDTH);
+
+        this.msgBox.setAlignment(Pos.CENTER_LEFT);
+        this.msgBox.getChildren().add(this.label);
+
+        this.btnBox.setSpacing(MARGIN);
+        this.btnBox.setAlignment(Pos.BOTTOM_CENTER);
+
+        BorderPane.setAlignment(this.msgBox, Pos.CENTER);
+        BorderPane.setMargin(this.msgBox, new Insets(MARGIN, MARGIN, MARGIN, 2 * MARGIN));
+        BorderPane.setMargin(this.btnBox, new Insets(0, 0, 1.5 * MARGIN, 0));
+        BorderPane.setMargin(this.icon, new Insets(MARGIN));
+
+        this.root.setLeft(this.icon);
+        this.root.setCenter(this.msgBox);
+        this.root.setBottom(this.btnBox);
+
+        this.label.setId("optionpane-label");
+        this.icon.setId("optionpane-icon");
+        this.icon.setEffect(this.iconShadow);
+
+        setScene(new Scene(this.root));
+    }
+
+    /**
+     * Rebind this pane to the builder's message, icon and buttons and show it.
+     */
+    private void display(Builder builder) {
+        this.onClose = builder.onClose;
         setTitle(builder.title);
         setResizable(builder.resizable);
 
-        toFront();
-        centerOnScreen();
-        FXGuiUtils.makeAlwaysOnTop(this);
+        this.label.setText(builder.message);
+        this.icon.setImage(builder.image);
+        this.iconShadow.setRadius(builder.image == null ? 0 : builder.image.getWidth());
+
+        this.btnBox.getChildren().clear();
+        if (builder.acceptText != null) {
+            bindButton(this.accept, builder.acceptText, builder.acceptAction);
+        }
+
+        if (builder.rejectText != null) {
+            bindButton(this.reject, builder.rejectText, builder.rejectAction);
+        }
 
-        double sceneHeight = builder.height == Double.NaN ? -1 : builder.height;
-        double sceneWidth = builder.width == Double.NaN ? -1 : builder.width;
+        this.root.setPrefWidth(Double.isNaN(builder.width) ? Region.USE_COMPUTED_SIZE : builder.width);
+        this.root.setPrefHeight(Double.isNaN(builder.height) ? Region.USE_COMPUTED_SIZE : builder.height);
+        sizeToScene();
 
-        setScene(new Scene(builder.root, sceneWidth, sceneHeight));
+        toFront();
+        centerOnScreen();
         if (builder.blocking) {
             showAndWait();
         } else {
@@ -77,6 +150,78 @@ public final class FXOptionPane extends Stage {
         }
     }
 
+    private void bindButton(Button button, String text, EventHandler<ActionEvent> onClick) {
+        button.setText(text);
+        button.setOnAction(onClick);
+        this.btnBox.getChildren().add(button);
+    }
+
+    private static Button createButton() {
+        final Button b = new Button();
+        b.setPrefWidth(BUTTON_WIDTH);
+        b.setId("optionpane-button");
+
+        return b;
+    }
+
+    /**
+     * Take an idle pane from the pool or create a new one. FX Application Thread only.
+     */
+    private static FXOptionPane obtain(Builder builder) {
+        if (builder.owner == null) {
+            final Array<FXOptionPane> idle = pool.get(builder.modality);
+            if ((idle != null) && (idle.size() > 0))
+                return idle.pop();
+        }
+
+        return new FXOptionPane(builder.owner, builder.modality);
+    }
+
+    /**
+     * Return a hidden pane to the pool, dropping references to the last builder's handlers. FX Application Thread only.
+     */
+    private static void release(FXOptionPane pane) {
+        final Runnable onClose = pane.onClose;
+
+        pane.onClose = null;
+        pane.accept.setOnAction(null);
+        pane.reject.setOnAction(null);
+
+        if (onClose != null) {
+            onClose.run();
+        }
+
+        if (!pane.pooled) return;
+
+        Array<FXOptionPane> idle = pool.get(pane.getModality());
+        if (idle == null) {
+            idle = Array.of(true, POOL_SIZE, FXOptionPane.class);
+            pool.put(pane.getModality(), idle);
+        }
+
+        if (idle.size() < POOL_SIZE)
+            idle.add(pane);
+    }
+
+    /**
+     * Build idle application-modal panes ahead of time so the first dialogs do not pay for their scene graph.
+     *
+     * @param count Number of panes to have available, at most {@link #POOL_SIZE}
+     */
+    public static void prewarm(int count) {
+        final Runnable r = () -> {
+            final Array<FXOptionPane> idle = pool.get(Modality.APPLICATION_MODAL);
+            for (int i = idle == null ? 0 : idle.size(); i < Math.min(count, POOL_SIZE); i++)
+                release(new FXOptionPane(null, Modality.APPLICATION_MODAL));
+        };
+
+        if (Platform.isFxApplicationThread()) {
+            r.run();
+        } else {
+            Platform.runLater(r);
+        }
+    }
+
     public static Builder builder() {
         return Builder.create("");
     }
@@ -138,21 +283,76 @@ public final class FXOptionPane extends Stage {
         return showConfirmation(GUIRef.TITLE + " Prompt", message, options);
     }
 
+    /**
+     * Shows a message without blocking the caller, which may be any thread. The returned future completes on the FX
+     * Application Thread once the message has been dismissed.
+     *
+     * @return Future completed when the pane is closed
+     */
+    public static CompletableFuture<Void> showMessageAsync(Window owner, String title, String message, IconType icon) {
+        final CompletableFuture<Void> closed = new CompletableFuture<>();
+
+        Builder.create(message).setImage(icon).makeOkButton(DEFAULT_CLOSE_ACTION).setOwner(owner).setModality(Modality.APPLICATION_MODAL).setTitle(title == null ? GUIRef.TITLE + " Message" : title).setOnClose(() -> closed.complete(null)).build();
+        return closed;
+    }
+
+    public static CompletableFuture<Void> showMessageAsync(String title, String message, IconType icon) {
+        return showMessageAsync(null, title, message, icon);
+    }
+
+    public static CompletableFuture<Void> showMessageAsync(String title, String message) {
+        return showMessageAsync(null, title, message, IconType.INFO);
+    }
+
+    public static CompletableFuture<Void> showMessageAsync(String message) {
+        return showMessageAsync(null, null, message, IconType.INFO);
+    }
+
+    /**
+     * Asks for confirmation without blocking the caller, which may be any thread. Unlike
+     * {@link #showConfirmation(Window, String, String, OptionType, IconType)} this does not spin a nested event loop,
+     * so callers only wait on the answer where they actually need it. The returned future completes on the FX
+     * Application Thread, closing the pane without choosing counts as declining.
+     *
+     * @return Future completed with the user's answer when the pane is closed
+     */
+    public static CompletableFuture<Boolean> showConfirmationAsync(Window owner, String title, String message, OptionType options, IconType icon) {
+        final AtomicBoolean confirmed = new AtomicBoolean(false);
+        final CompletableFuture<Boolean> answer = new CompletableFuture<>();
+        final Builder builder = Builder.create(message).setTitle(title).setImage(icon).setOwner(owner).setModality(Modality.APPLICATION_MODAL).setOnClose(() -> answer.complete(confirmed.get()));
+
+        options.install(builder, confirmed);
+        builder.build();
+        return answer;
+    }
+
+    public static CompletableFuture<Boolean> showConfirmationAsync(String title, String message, OptionType options, IconType icon) {
+        return showConfirmationAsync(null, title, message, options, icon);
+    }
+
+    public static CompletableFuture<Boolean> showConfirmationAsync(String title, String message, OptionType options) {
+        return showConfirmationAsync(title, message, options, IconType.CONFIRM);
+    }
+
+    public static CompletableFuture<Boolean> showConfirmationAsync(String message, OptionType options) {
+        return showConfirmationAsync(GUIRef.TITLE + " Prompt", message, options);
+    }
+
     public static class Builder {
 
         private Window owner = null;
         private Modality modality = Modality.APPLICATION_MODAL;
         private String title = GUIRef.TITLE + " Prompt";
 
-        private final BorderPane root = new BorderPane();
-        private final ImageView icon = new ImageView();
+        private String message;
+        private Image image;
 
-        private final HBox msgBox = new HBox();
-        private Button accept;
-        private Button reject;
-        private final Label label;
+        private String acceptText;
+        private EventHandler<ActionEvent> acceptAction;
+        private String rejectText;
+        private EventHandler<ActionEvent> rejectAction;
 
-        private final HBox btnBox = new HBox();
+        private Runnable onClose;
 
         private boolean resizable = true;
         private boolean blocking = false;
@@ -161,32 +361,9 @@ public final class FXOptionPane extends Stage {
         private double width = Double.NaN;
 
         private Builder(String message) {
-            this.label = new Label(message);
-            this.label.setWrapText(false);
-            this.label.setMinWidth(MESSAGE_MIN_WIDTH);
-            this.label.setMaxWidth(MESSAGE_MAX_WIDTH);
+            this.message = message;
 
             toInfo();
-
-            this.msgBox.setAlignment(Pos.CENTER_LEFT);
-            this.msgBox.getChildren().add(this.label);
-
-            this.btnBox.setSpacing(MARGIN);
-            this.btnBox.setAlignment(Pos.BOTTOM_CENTER);
-
-            BorderPane.setAlignment(this.msgBox, Pos.CENTER);
-            BorderPane.setMargin(this.msgBox, new Insets(MARGIN, MARGIN, MARGIN, 2 * MARGIN));
-            BorderPane.setMargin(this.btnBox, new Insets(0, 0, 1.5 * MARGIN, 0));
-            BorderPane.setMargin(this.icon, new Insets(MARGIN));
-
-            this.root.setLeft(this.icon);
-            this.root.setCenter(this.msgBox);
-            this.root.setBottom(this.btnBox);
-
-            this.label.setId("optionpane-label");
-            this.icon.setId("optionpane-icon");
-
-            this.icon.setEffect(new DropShadow(this.icon.getImage().getWidth(), Color.LIGHTGRAY));
         }
 
         public static Builder create(String message) {
@@ -218,29 +395,27 @@ public final class FXOptionPane extends Stage {
         }
 
         public Builder setMessage(String message) {
-            this.label.setText(message);
+            this.message = message;
 
             return this;
         }
 
         public Builder setImage(Image ico) {
-            this.icon.setImage(ico);
+            this.image = ico;
 
             return this;
         }
 
         public Builder setImageFromResource(String resource) throws IOException {
-            return setImage(new Image(FXGuiUtils.loadImage(resource).stream()));
+            try (InputStream in = FXGuiUtils.loadImage(resource).stream()) {
+                return setImage(new Image(in));
+            }
         }
 
         public Builder setImage(IconType ico) {
-            try {
-                return setImageFromResource(ico.imageName);
-            } catch (IOException e) {
-                new IOException("Failed to set Icon from IconType! Must be out-of-date or misplaced images? Check package name for resources.", e).printStackTrace();
-            }
+            final Image image = IconCache.get(ico);
 
-            return this;
+            return image == null ? this : setImage(image);
         }
 
         public Builder toWarning() {
@@ -259,6 +434,15 @@ public final class FXOptionPane extends Stage {
             return setImage(IconType.CONFIRM);
         }
 
+        /**
+         * @param onClose Run on the FX Application Thread once the pane has been hidden
+         */
+        public Builder setOnClose(Runnable onClose) {
+            this.onClose = onClose;
+
+            return this;
+        }
+
         public Builder makeBlocking() {
             this.blocking = true;
 
@@ -266,25 +450,29 @@ public final class FXOptionPane extends Stage {
         }
 
         public Builder makeOkButton(EventHandler<ActionEvent> onClick) {
-            this.accept = createButton("Ok", onClick);
+            this.acceptText = "Ok";
+            this.acceptAction = onClick;
 
             return this;
         }
 
         public Builder makeCancelButton(EventHandler<ActionEvent> onClick) {
-            this.reject = createButton("Cancel", onClick);
+            this.rejectText = "Cancel";
+            this.rejectAction = onClick;
 
             return this;
         }
 
         public Builder makeYesButton(EventHandler<ActionEvent> onClick) {
-            this.accept = createButton("Yes", onClick);
+            this.acceptText = "Yes";
+            this.acceptAction = onClick;
 
             return this;
         }
 
         public Builder makeNoButton(EventHandler<ActionEvent> onClick) {
-            this.reject = createButton("No", onClick);
+            this.rejectText = "No";
+            this.rejectAction = onClick;
 
             return this;
         }
@@ -302,20 +490,10 @@ public final class FXOptionPane extends Stage {
 
         public void build() {
 
-            if ((this.accept == null) && (this.reject == null))
+            if ((this.acceptText == null) && (this.rejectText == null))
                 throw new IllegalStateException("An FXOptionPane MUST have a Button!");
 
-            if (this.accept != null) {
-                this.btnBox.getChildren().add(this.accept);
-                this.accept.setId("optionpane-button");
-            }
-
-            if (this.reject != null) {
-                this.btnBox.getChildren().add(this.reject);
-                this.reject.setId("optionpane-button");
-            }
-
-            final Runnable r = () -> new FXOptionPane(this);
+            final Runnable r = () -> obtain(this).display(this);
 
             if (Platform.isFxApplicationThread()) {
                 r.run();
@@ -324,14 +502,6 @@ public final class FXOptionPane extends Stage {
             }
 
         }
-
-        private Button createButton(String lbl, EventHandler<ActionEvent> onClick) {
-            final Button b = new Button(lbl);
-            b.setPrefWidth(BUTTON_WIDTH);
-            b.setOnAction(onClick);
-
-            return b;
-        }
     }
 
     public enum IconType {
@@ -0,0 +1,76 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.installer;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Runs the {@link InstallPipeline} without any GUI, printing progress to the console. JavaFX and the option pane
+ * classes are never loaded on this path.
+ *
+ * @author Glossawy
+ */
+final class HeadlessInstaller {
+
+    private HeadlessInstaller() {
+    }
+
+    /**
+     * Install into each of the given projects in turn.
+     *
+     * @param projects Project Directories
+     * @return True if every installation succeeded
+     */
+    static boolean run(String[] projects) {
+        final InstallPipeline pipeline = new InstallPipeline();
+        boolean success = true;
+
+        for (final String project : projects) {
+            final Path projectDir = Paths.get(project).toAbsolutePath().normalize();
+
+            try {
+                pipeline.install(projectDir, new InstallListener() {
+                    @Override
+                    public void progress(double percent) {
+                    }
+
+                    @Override
+                    public void status(String info) {
+                        System.out.println(info);
+                    }
+
+                    @Override
+                    public void warning(String title, String message) {
+                        System.err.println("WARNING -- " + title + ": " + message);
+                    }
+                });
+            } catch (Exception e) {
+                System.err.println("ERROR -- " + projectDir + ": " + e.getMessage());
+                InstallLog.log(LogLevel.ERROR, HeadlessInstaller.class, "Installation into " + projectDir + " failed", e);
+                success = false;
+            }
+        }
+
+        StartupTimer.done();
+        return success;
+    }
+}
@@ -0,0 +1,104 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.installer;
+
+import javafx.scene.image.Image;
+import org.usfirst.frc.team1554.lib.installer.FXOptionPane.IconType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Process-wide cache of the decoded {@link IconType} images. {@link #preload()} decodes every icon on a background
+ * thread at start-up so that option panes never read or decode a PNG on the FX Application Thread. If an icon is
+ * requested before the preloader reaches it, it is decoded on the requesting thread instead (or waited for, if the
+ * preloader is already decoding it); either way each icon is decoded exactly once.
+ *
+ * @author Glossawy
+ */
+final class IconCache {
+
+    private static final IconType[] TYPES = IconType.values();
+    private static final List<FutureTask<Image>> icons = createTasks();
+
+    private IconCache() {
+    }
+
+    /**
+     * Start decoding every icon on a background daemon thread.
+     */
+    static void preload() {
+        final Thread loader = new Thread(() -> {
+            for (final FutureTask<Image> icon : icons)
+                icon.run();
+        }, "RoboLib-Icon-Preloader");
+
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Get the decoded image for an icon type, decoding it now if the preloader has not yet done so.
+     *
+     * @param type Icon Type
+     * @return Decoded Image or null if the icon could not be loaded
+     */
+    static Image get(IconType type) {
+        final FutureTask<Image> icon = icons.get(type.ordinal());
+
+        // No-op if the preloader already ran or is running it
+        icon.run();
+
+        try {
+            return icon.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            InstallLog.log(LogLevel.ERROR, IconCache.class, "Failed to set Icon from IconType! Must be out-of-date or misplaced images? Check package name for resources.", e.getCause());
+        }
+
+        return null;
+    }
+
+    private static List<FutureTask<Image>> createTasks() {
+        final List<FutureTask<Image>> tasks = new ArrayList<>(TYPES.length);
+
+        // TYPES is in ordinal order, so each task sits at its type's ordinal
+        for (final IconType type : TYPES)
+            tasks.add(new FutureTask<>(() -> decode(type)));
+
+        return Collections.unmodifiableList(tasks);
+    }
+
+    private static Image decode(IconType type) throws IOException {
+        try (InputStream in = FXGuiUtils.loadImage(type.imageName).stream()) {
+            if (in == null)
+                throw new IOException("No Resource Found for " + type.imageName);
+
+            return new Image(in);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.installer;
+
+/**
+ * Receives progress from an {@link InstallPipeline}. The GUI forwards these to the {@link ProgressDisplay} and
+ * {@link FXOptionPane}, the daemon forwards them over its socket to the waiting client.
+ *
+ * @author Glossawy
+ */
+public interface InstallListener {
+
+    /**
+     * @param percent Overall progress, [0, 100]
+     */
+    void progress(double percent);
+
+    /**
+     * @param info Short description of what the pipeline is currently doing
+     */
+    void status(String info);
+
+    /**
+     * A non-fatal problem the user should know about, the pipeline continues after reporting it.
+     *
+     * @param title   Short title of the problem
+     * @param message Full description
+     */
+    void warning(String title, String message);
+
+}
@@ -0,0 +1,121 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.installer;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Process-wide installation log. Records at or above the current threshold are published to a bounded
+ * {@link LogRingBuffer} which the GUI's {@link LogConsole} and the {@link LogFileAppender} drain on their own
+ * threads. <br />
+ * <br />
+ * The threshold is checked before a record is even created and messages are only assembled by the consumers, so a
+ * disabled call costs a volatile read. Arguments are converted with {@link String#valueOf(Object)} when logged. Use the overloads taking arguments rather than concatenating the message:
+ * <pre>
+ *     InstallLog.log(LogLevel.DEBUG, Library.class, "Visited {}", file);
+ * </pre>
+ * The initial threshold is read from the {@code robolib.installer.log} system property and defaults to INFO.
+ *
+ * @author Glossawy
+ */
+public final class InstallLog {
+
+    public static final int BUFFER_CAPACITY = 1 << 14;
+
+    /**
+     * System property naming the log file, an empty value disables the file.
+     */
+    public static final String FILE_PROPERTY = "robolib.installer.log.file";
+    public static final String DEFAULT_FILE = "robolib-installer.log";
+
+    private static final LogRingBuffer buffer = new LogRingBuffer(BUFFER_CAPACITY);
+    private static volatile LogLevel threshold = LogLevel.forName(System.getProperty("robolib.installer.log"), LogLevel.INFO);
+    private static LogFileAppender appender;
+
+    private InstallLog() {
+    }
+
+    public static boolean isEnabled(LogLevel level) {
+        return level.isAtLeast(threshold);
+    }
+
+    public static void log(LogLevel level, String message) {
+        if (isEnabled(level))
+            buffer.publish(new LogRecord(level, message));
+    }
+
+    public static void log(LogLevel level, Class<?> source, String message) {
+        if (isEnabled(level))
+            buffer.publish(new LogRecord(level, source, message, 0, null, null, null));
+    }
+
+    public static void log(LogLevel level, Class<?> source, String pattern, Object arg) {
+        if (isEnabled(level))
+            buffer.publish(new LogRecord(level, source, pattern, 1, arg, null, null));
+    }
+
+    public static void log(LogLevel level, Class<?> source, String pattern, Object arg0, Object arg1) {
+        if (isEnabled(level))
+            buffer.publish(new LogRecord(level, source, pattern, 2, arg0, arg1, null));
+    }
+
+    public static void log(LogLevel level, Class<?> source, String message, Throwable throwable) {
+        if (isEnabled(level))
+            buffer.publish(new LogRecord(level, source, message, 0, null, null, throwable));
+    }
+
+    public static void setThreshold(LogLevel level) {
+        threshold = level;
+    }
+
+    public static LogLevel getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Start writing the log to the file named by {@link #FILE_PROPERTY}, or {@link #DEFAULT_FILE} in the working
+     * directory. The file is opened on the appender's thread and the appender is flushed and closed on JVM shutdown.
+     * Does nothing if the appender is already running or the property is empty.
+     */
+    public static synchronized void startFileAppender() {
+        if (appender != null) return;
+
+        final String file = System.getProperty(FILE_PROPERTY, DEFAULT_FILE);
+        if (file.isEmpty()) return;
+
+        startFileAppender(Paths.get(file));
+    }
+
+    static synchronized void startFileAppender(Path file) {
+        if (appender != null) return;
+
+        final LogFileAppender started = new LogFileAppender(buffer, file);
+        started.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(started::close, "RoboLib-Log-Shutdown"));
+
+        appender = started;
+    }
+
+    static LogRingBuffer buffer() {
+        return buffer;
+    }
+}
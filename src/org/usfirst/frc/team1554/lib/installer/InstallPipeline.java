@@ -0,0 +1,315 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.installer;
+
+import org.usfirst.frc.team1554.lib.collect.Array;
+import org.usfirst.frc.team1554.lib.meta.LibVersion;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The headless half of the installer. Given a project directory this locates the dependencies, adds them to the
+ * WPILib classpath and injects them into the Eclipse .classpath, reporting to an {@link InstallListener} as it goes.
+ * <br />
+ * <br />
+ * A pipeline may be shared between threads. Installs into the same project are serialized, as are edits to the
+ * (shared) WPILib build.properties, installs into different projects otherwise run in parallel.
+ *
+ * @author Glossawy
+ */
+public final class InstallPipeline {
+
+    private static final String LIB_FILENAME = LibVersion.NAME.toLowerCase() + "-" + LibVersion.VERSION + ".jar";
+    private static final String WPI_VERSION_REGEX = "\\$\\{version\\}";
+
+    private static final ConcurrentHashMap<Path, Object> FILE_LOCKS = new ConcurrentHashMap<>();
+
+    private final WorkspaceIndex index;
+
+    public InstallPipeline() {
+        this(new WorkspaceIndex());
+    }
+
+    public InstallPipeline(WorkspaceIndex index) {
+        this.index = index;
+    }
+
+    public void install(Path projectDir, InstallListener listener) throws IOException {
+        if (!isEclipseProject(projectDir))
+            throw new MissingRequirementException(String.valueOf(projectDir) + " is not an eclipse project! No .classpath found!");
+
+        listener = logging(listener);
+        InstallLog.log(LogLevel.INFO, InstallPipeline.class, "Installing into {}", projectDir);
+
+        synchronized (lockFor(projectDir)) {
+            // Get Dependencies
+            listener.status("Locating Library Files...");
+            Array<Library> libDependencies = index.getDependencies(projectDir);
+
+            listener.progress(10);
+            listener.status("Retrieving Necessary .classpath and .properties files...");
+            Path wpilibProperties = getWPIProperties(projectDir);
+
+            if (!Files.exists(wpilibProperties, LinkOption.NOFOLLOW_LINKS))
+                throw new MissingRequirementException("No WPILib build.properties Found! Tried: " + wpilibProperties.toString());
+
+            listener.progress(20);
+            listener.status("Adding " + LibVersion.NAME + " to WPILib classpath variable...");
+
+            // Set Classpath Property in wpilib build.properties
+            for (int i = 0; i < libDependencies.size(); i++) {
+                Library lib = libDependencies.get(i);
+                if (lib.isAvailable())
+                    modifyClasspathWPI(wpilibProperties, projectDir.relativize(lib.getLibraryFile().toAbsolutePath()));
+            }
+
+            try {
+                // Inject Library as a dependency in .classpath
+                // <classpathentry kind="lib" path="<libpath>" sourcepath="<libsrcpath>" />
+                listener.progress(50);
+                listener.status("Generating new .classpath XML Data...");
+
+                Path classpathFile = projectDir.resolve(".classpath");
+                if (Files.exists(classpathFile, LinkOption.NOFOLLOW_LINKS)) {
+                    for (int i = 0; i < libDependencies.size(); i++) {
+                        Library lib = libDependencies.get(i);
+                        if (lib.isAvailable())
+                            injectDependencyEclipseClasspathXML(lib, classpathFile, listener);
+                    }
+                } else
+                    listener.warning("No .classpath Found!", "Could not automatically modify Eclipse's .classpath file.\nThis can be ignored if not using Eclipse.\n\nOtherwise, link the library manually.");
+            } catch (ParserConfigurationException | SAXException e) {
+                throw new RuntimeParsingException("Failed to Parse .classpath XML!", e);
+            }
+
+            listener.progress(100);
+            listener.status("Finished!");
+        }
+    }
+
+    /**
+     * Mirror status and warnings into the {@link InstallLog} before handing them to the listener.
+     */
+    private static InstallListener logging(final InstallListener listener) {
+        return new InstallListener() {
+            @Override
+            public void progress(double percent) {
+                listener.progress(percent);
+            }
+
+            @Override
+            public void status(String info) {
+                InstallLog.log(LogLevel.INFO, InstallPipeline.class, info);
+                listener.status(info);
+            }
+
+            @Override
+            public void warning(String title, String message) {
+                InstallLog.log(LogLevel.WARNING, InstallPipeline.class, "{}: {}", title, message);
+                listener.warning(title, message);
+            }
+        };
+    }
+
+    Path getWPIProperties(Path project) throws IOException {
+        Path buildFile = project.resolve("build.xml");
+        String wpiVersion = "current";
+        String wpiPath = "/wpilib/java/${version}/ant/build.properties";
+
+        if (!Files.exists(buildFile, LinkOption.NOFOLLOW_LINKS))
+            throw new MissingRequirementException("No build.xml found in project!");
+
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setIgnoringComments(true);
+            Document xml = factory.newDocumentBuilder().parse(buildFile.toFile());
+            NodeList nodes = xml.getElementsByTagName("property");
+
+            boolean versionRetrieved = false;
+            boolean pathRetrieved = false;
+            for (int i = 0; i < nodes.getLength() && (!versionRetrieved || !pathRetrieved); i++) {
+                Node cur = nodes.item(i);
+                NamedNodeMap map = cur.getAttributes();
+
+                Node fileNode = map.getNamedItem("file");
+
+                if (fileNode.getNodeValue().endsWith("wpilib.properties")) {
+                    int index = fileNode.getNodeValue().indexOf('/');
+                    Path toVersionProps = Paths.get(System.getProperty("user.home"), fileNode.getNodeValue().substring(index));
+
+                    Properties props = new Properties();
+                    try (InputStream in = Files.newInputStream(toVersionProps)) {
+                        props.load(in);
+                    }
+                    wpiVersion = props.getProperty("version");
+                    versionRetrieved = true;
+                } else if (fileNode.getNodeValue().endsWith("build.properties") && fileNode.getNodeValue().contains("/wpilib/")) {
+                    int index = fileNode.getNodeValue().indexOf('/');
+                    wpiPath = fileNode.getNodeValue().substring(index);
+                    pathRetrieved = true;
+                }
+            }
+
+            return Paths.get(System.getProperty("user.home"), wpiPath.replaceAll(WPI_VERSION_REGEX, wpiVersion));
+        } catch (SAXException | ParserConfigurationException e) {
+            throw new IORuntimeException("Failed to Parse WPILib build.xml! Is it still ANT?", e);
+        }
+    }
+
+    void modifyClasspathWPI(Path wpilibProperties, Path libRelative) throws IOException {
+        synchronized (lockFor(wpilibProperties)) {
+            List<String> lines = Files.readAllLines(wpilibProperties, StandardCharsets.UTF_8);
+            boolean hasChange = false;
+
+            for (int i = 0; i < lines.size(); i++) {
+                String entry = lines.get(i);
+                if (entry.startsWith("classpath")) {
+                    if (entry.contains(LibVersion.NAME.toLowerCase())) {
+                        String eVal = entry.substring(entry.indexOf('=') + 1);
+                        lines.set(i, "classpath=" + eVal + ":" + libRelative);
+                        hasChange = true;
+                    } else if (hasChange) {
+                        hasChange = false;
+                    }
+                }
+            }
+
+            if (hasChange)
+                Files.write(wpilibProperties, lines, StandardCharsets.UTF_8, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+    }
+
+    void injectDependencyEclipseClasspathXML(Library lib, Path classpathFile, InstallListener listener) throws IOException, ParserConfigurationException, SAXException {
+        Document classpathXml = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(classpathFile.toFile());
+        Element libElement = createLibraryElement(classpathXml, lib.getLibraryFile(), lib.hasSourceFile() ? lib.getSourceFile() : null);
+
+        listener.progress(70);
+        NodeList libNodes = classpathXml.getElementsByTagName("classpathentry");
+        DOMSearchResult<Node> result = searchForLastElementOfKind(libNodes, "var");
+
+        listener.progress(90);
+        listener.status("Adding " + LibVersion.NAME + " as dependency and writing XML...");
+        if (!result.roboLibFound || !lib.getLibraryFile().getFileName().toString().equalsIgnoreCase(LIB_FILENAME)) {
+            libNodes.item(0).getParentNode().insertBefore(libElement, result.value.getNextSibling());
+            XMLWriter.write(classpathXml, classpathFile);
+        }
+    }
+
+    Element createLibraryElement(Document classpathXml, Path libFile, Path srcFile) {
+        Element libElement = classpathXml.createElement("classpathentry");
+        libElement.setAttribute("kind", "lib");
+        libElement.setAttribute("path", libFile.toAbsolutePath().toString());
+        if (srcFile != null && Files.exists(srcFile, LinkOption.NOFOLLOW_LINKS))
+            libElement.setAttribute("sourcepath", srcFile.toAbsolutePath().toString());
+
+        return libElement;
+    }
+
+    DOMSearchResult<Node> searchForLastElementOfKind(NodeList list, String kind) {
+        Node last = null;
+        boolean found = false;
+
+        for (int i = 0; i < list.getLength(); i++) {
+            Node cur = list.item(i);
+            if (cur.getAttributes().getNamedItem("kind").getNodeValue().equals(kind))
+                last = cur;
+            if (cur.getAttributes().getNamedItem("path").getNodeValue().toLowerCase().contains(LibVersion.NAME.toLowerCase()))
+                found = true;
+        }
+
+        return new DOMSearchResult<>(last, found);
+    }
+
+    static boolean isEclipseProject(Path dir) {
+        return Files.exists(dir.resolve(".classpath"), LinkOption.NOFOLLOW_LINKS);
+    }
+
+    private static Object lockFor(Path path) {
+        final Path key = path.toAbsolutePath().normalize();
+        final Object lock = FILE_LOCKS.get(key);
+
+        if (lock != null)
+            return lock;
+
+        final Object created = new Object();
+        final Object existing = FILE_LOCKS.putIfAbsent(key, created);
+        return existing == null ? created : existing;
+    }
+
+    /**
+     * Holds everything that touches javax.xml.transform so that the transformer stack is only loaded once a
+     * .classpath actually has to be written.
+     */
+    static final class XMLWriter {
+
+        private XMLWriter() {
+        }
+
+        static void write(Document xml, Path file) throws IOException {
+            try {
+                Transformer transform = TransformerFactory.newInstance().newTransformer();
+                transform.setOutputProperty(OutputKeys.INDENT, "yes");
+
+                DOMSource source = new DOMSource(xml);
+                try (OutputStream out = Files.newOutputStream(file)) {
+                    transform.transform(source, new StreamResult(out));
+                }
+            } catch (TransformerException e) {
+                throw new IORuntimeException("Failed to transform and write out new XML Graph to " + file.getFileName() + "!", e);
+            }
+        }
+    }
+
+    static class DOMSearchResult<T extends Node> {
+        public final T value;
+        public final boolean roboLibFound;
+
+        public DOMSearchResult(T val, boolean roboLibFound) {
+            this.value = val;
+            this.roboLibFound = roboLibFound;
+        }
+    }
+}
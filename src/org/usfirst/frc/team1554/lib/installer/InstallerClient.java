@@ -0,0 +1,121 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.installer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Tiny command line client for the {@link InstallerDaemon}. Deliberately depends on nothing but the JDK and the
+ * daemon's constants so it starts as fast as the JVM allows. <br />
+ * <br />
+ * Usage: {@code InstallerClient <project directory>...}, {@code InstallerClient --forget <project directory>} or
+ * {@code InstallerClient --shutdown}. Exits with a non-zero status if any request fails.
+ *
+ * @author Glossawy
+ */
+public final class InstallerClient {
+
+    private InstallerClient() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: InstallerClient <project directory>... | --forget <project directory> | --shutdown");
+            System.exit(2);
+        }
+
+        final String[] daemon = readDaemonFile();
+        final int port = Integer.parseInt(daemon[0]);
+        final String token = daemon[1];
+
+        boolean failed = false;
+        if ("--shutdown".equals(args[0])) {
+            failed = !request(port, token, InstallerDaemon.SHUTDOWN, null);
+        } else if ("--forget".equals(args[0])) {
+            for (int i = 1; i < args.length; i++)
+                failed |= !request(port, token, InstallerDaemon.FORGET, absolute(args[i]));
+        } else {
+            for (final String project : args)
+                failed |= !request(port, token, InstallerDaemon.INSTALL, absolute(project));
+        }
+
+        System.exit(failed ? 1 : 0);
+    }
+
+    private static boolean request(int port, String token, String command, String argument) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            final Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+            out.write(token + ' ' + command + (argument == null ? "" : ' ' + argument) + '\n');
+            out.flush();
+
+            final BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            String line;
+            while ((line = in.readLine()) != null) {
+                final int split = line.indexOf(' ');
+                final String type = split < 0 ? line : line.substring(0, split);
+                final String message = split < 0 ? "" : InstallerDaemon.unescape(line.substring(split + 1));
+
+                switch (type) {
+                    case InstallerDaemon.DONE:
+                        return true;
+                    case InstallerDaemon.ERROR:
+                        System.err.println("ERROR -- " + message);
+                        return false;
+                    case InstallerDaemon.WARNING:
+                        System.err.println("WARNING -- " + message);
+                        break;
+                    case InstallerDaemon.STATUS:
+                        System.out.println(message);
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+
+        System.err.println("ERROR -- Daemon closed the connection before finishing!");
+        return false;
+    }
+
+    private static String[] readDaemonFile() throws IOException {
+        if (!Files.exists(InstallerDaemon.DAEMON_FILE))
+            throw new IOException("No Installer Daemon is running! Expected " + InstallerDaemon.DAEMON_FILE);
+
+        final String[] parts = new String(Files.readAllBytes(InstallerDaemon.DAEMON_FILE), StandardCharsets.UTF_8).trim().split(" ");
+        if (parts.length != 2)
+            throw new IOException("Malformed Daemon File: " + InstallerDaemon.DAEMON_FILE);
+
+        return parts;
+    }
+
+    private static String absolute(String path) {
+        return Paths.get(path).toAbsolutePath().normalize().toString();
+    }
+}
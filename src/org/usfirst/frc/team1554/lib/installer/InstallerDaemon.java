@@ -0,0 +1,290 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.installer;
+
+import org.usfirst.frc.team1554.lib.util.OS;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps an {@link InstallPipeline} and its {@link WorkspaceIndex} warm and serves install requests from
+ * {@link InstallerClient}s, so provisioning scripts do not pay JVM start-up for every project. <br />
+ * <br />
+ * The daemon listens on the loopback interface only. The port and a random access token are written to
+ * {@link #DAEMON_FILE} (readable only by the owner on Unix), every request must present that token. Requests are
+ * one line each and are served on a worker pool, so installs into different projects run in parallel:
+ * <pre>
+ *     &lt;token&gt; INSTALL &lt;project directory&gt;
+ *     &lt;token&gt; FORGET &lt;project directory&gt;
+ *     &lt;token&gt; SHUTDOWN
+ * </pre>
+ * The daemon replies with PROGRESS, STATUS and WARNING lines followed by a single DONE or ERROR line.
+ *
+ * @author Glossawy
+ */
+public final class InstallerDaemon {
+
+    static final Path DAEMON_FILE = Paths.get(System.getProperty("user.home"), ".robolib-installer-daemon");
+
+    static final String INSTALL = "INSTALL";
+    static final String FORGET = "FORGET";
+    static final String SHUTDOWN = "SHUTDOWN";
+
+    static final String PROGRESS = "PROGRESS";
+    static final String STATUS = "STATUS";
+    static final String WARNING = "WARNING";
+    static final String DONE = "DONE";
+    static final String ERROR = "ERROR";
+
+    private static final int REQUEST_TIMEOUT = 30_000;
+    private static final long SHUTDOWN_GRACE = 60_000;
+
+    private final WorkspaceIndex index = new WorkspaceIndex();
+    private final InstallPipeline pipeline = new InstallPipeline(this.index);
+    private final ExecutorService workers;
+    private final ServerSocket server;
+    private final byte[] token;
+
+    private volatile boolean running = true;
+
+    private InstallerDaemon(int port, int threads) throws IOException {
+        this.server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.token = newToken().getBytes(StandardCharsets.UTF_8);
+
+        final AtomicInteger count = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, r -> {
+            final Thread t = new Thread(r, "RoboLib-Installer-Worker-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Start the daemon and serve requests until a SHUTDOWN request is received.
+     *
+     * @param port Port to listen on, 0 for any free port
+     * @throws IOException If the daemon could not bind or publish its port
+     */
+    public static void run(int port) throws IOException {
+        final InstallerDaemon daemon = new InstallerDaemon(port, Math.max(2, OS.processorCount()));
+
+        daemon.publish();
+        System.out.println("RoboLib Installer Daemon listening on " + daemon.server.getLocalSocketAddress());
+        daemon.serve();
+    }
+
+    private void publish() throws IOException {
+        final String contents = this.server.getLocalPort() + " " + new String(this.token, StandardCharsets.UTF_8);
+
+        Files.deleteIfExists(DAEMON_FILE);
+        // Owner only wherever the file system has POSIX permissions, which includes Mac OS X
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix"))
+            Files.createFile(DAEMON_FILE, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        else
+            Files.createFile(DAEMON_FILE);
+
+        Files.write(DAEMON_FILE, contents.getBytes(StandardCharsets.UTF_8), StandardOpenOption.TRUNCATE_EXISTING);
+        DAEMON_FILE.toFile().deleteOnExit();
+    }
+
+    private void serve() throws IOException {
+        try {
+            while (this.running) {
+                final Socket client;
+                try {
+                    client = this.server.accept();
+                } catch (SocketException e) {
+                    if (this.running) throw e;
+                    break;
+                }
+
+                this.workers.execute(() -> handle(client));
+            }
+        } finally {
+            // Let installs that are already running finish before the JVM exits
+            this.workers.shutdown();
+            try {
+                this.workers.awaitTermination(SHUTDOWN_GRACE, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            Files.deleteIfExists(DAEMON_FILE);
+        }
+    }
+
+    private void handle(Socket client) {
+        try (Socket socket = client) {
+            socket.setSoTimeout(REQUEST_TIMEOUT);
+
+            final BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            final Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+
+            final String request = in.readLine();
+            final int tokenEnd = request == null ? -1 : request.indexOf(' ');
+            if ((tokenEnd < 0) || !MessageDigest.isEqual(this.token, request.substring(0, tokenEnd).getBytes(StandardCharsets.UTF_8))) {
+                reply(out, ERROR, "Access Denied!");
+                return;
+            }
+
+            final int commandEnd = request.indexOf(' ', tokenEnd + 1);
+            final String command = commandEnd < 0 ? request.substring(tokenEnd + 1) : request.substring(tokenEnd + 1, commandEnd);
+            final String argument = commandEnd < 0 ? null : request.substring(commandEnd + 1);
+
+            switch (command) {
+                case INSTALL:
+                    install(argument, out);
+                    break;
+                case FORGET:
+                    forget(argument, out);
+                    break;
+                case SHUTDOWN:
+                    reply(out, DONE, null);
+                    this.running = false;
+                    this.server.close();
+                    break;
+                default:
+                    reply(out, ERROR, "Unknown Command '" + command + "'!");
+            }
+        } catch (IOException e) {
+            InstallLog.log(LogLevel.ERROR, InstallerDaemon.class, "Failed to serve client", e);
+        }
+    }
+
+    private void forget(String project, Writer out) throws IOException {
+        if (project == null) {
+            reply(out, ERROR, "No Project Directory Given!");
+            return;
+        }
+
+        try {
+            this.index.invalidate(Paths.get(project));
+        } catch (InvalidPathException e) {
+            reply(out, ERROR, e.getClass().getSimpleName() + ": " + e.getMessage());
+            return;
+        }
+
+        reply(out, DONE, null);
+    }
+
+    private void install(String project, Writer out) throws IOException {
+        if (project == null) {
+            reply(out, ERROR, "No Project Directory Given!");
+            return;
+        }
+
+        try {
+            this.pipeline.install(Paths.get(project), new InstallListener() {
+                @Override
+                public void progress(double percent) {
+                    send(PROGRESS, String.valueOf(percent));
+                }
+
+                @Override
+                public void status(String info) {
+                    send(STATUS, info);
+                }
+
+                @Override
+                public void warning(String title, String message) {
+                    send(WARNING, title + ": " + message);
+                }
+
+                private void send(String type, String message) {
+                    try {
+                        reply(out, type, message);
+                    } catch (IOException e) {
+                        throw new IORuntimeException("Lost Connection to Client!", e);
+                    }
+                }
+            });
+
+            reply(out, DONE, null);
+        } catch (Exception e) {
+            InstallLog.log(LogLevel.ERROR, InstallerDaemon.class, "Installation into " + project + " failed", e);
+            reply(out, ERROR, e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    private static void reply(Writer out, String type, String message) throws IOException {
+        out.write(type);
+        if (message != null) {
+            out.write(' ');
+            out.write(escape(message));
+        }
+        out.write('\n');
+        out.flush();
+    }
+
+    static String escape(String message) {
+        return message.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    static String unescape(String message) {
+        final StringBuilder sb = new StringBuilder(message.length());
+
+        for (int i = 0; i < message.length(); i++) {
+            final char c = message.charAt(i);
+            if ((c == '\\') && (i + 1 < message.length())) {
+                final char next = message.charAt(++i);
+                sb.append(next == 'n' ? '\n' : next);
+            } else {
+                sb.append(c);
+            }
+        }
+
+        return sb.toString();
+    }
+
+    private static String newToken() {
+        final byte[] bytes = new byte[24];
+        new SecureRandom().nextBytes(bytes);
+
+        final StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (final byte b : bytes)
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+
+        return sb.toString();
+    }
+}
@@ -28,37 +28,12 @@ import javafx.stage.Stage;
 import org.usfirst.frc.team1554.lib.collect.Array;
 import org.usfirst.frc.team1554.lib.installer.FXOptionPane.IconType;
 import org.usfirst.frc.team1554.lib.meta.LibVersion;
-import org.usfirst.frc.team1554.lib.util.OS;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NamedNodeMap;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
-
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
+
 import java.io.File;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
-import java.nio.file.attribute.FileAttribute;
-import java.nio.file.attribute.PosixFilePermission;
-import java.nio.file.attribute.PosixFilePermissions;
-import java.util.List;
-import java.util.Properties;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Primary Class for Library Installation (handles .classpath and build.properties editing) <br />
@@ -69,18 +44,14 @@ import java.util.Set;
  */
 public final class LibInstaller extends Application {
 
-    private static final String LIB_FILENAME = LibVersion.NAME.toLowerCase() + "-" + LibVersion.VERSION + ".jar";
-    private static final String WPI_VERSION_REGEX = "\\$\\{version\\}";
-
-    private static final FileAttribute<Set<PosixFilePermission>> STANDARD_PERMISSIONS;
+    private ProgressDisplay progDisplay;
 
-    static {
-        Set<PosixFilePermission> permits = PosixFilePermissions.fromString("rw-rw-rw-");
-        STANDARD_PERMISSIONS = PosixFilePermissions.asFileAttribute(permits);
+    @Override
+    public void init() {
+        // Decode the option pane icons while the toolkit finishes starting
+        IconCache.preload();
     }
 
-    private ProgressDisplay progDisplay;
-
     @Override
     public void start(Stage primaryStage) throws IOException {
         // Confirm Installation
@@ -91,176 +62,67 @@ public final class LibInstaller extends Application {
         }
 
         // Set up Progress Display
-        progDisplay = new ProgressDisplay(500, 50);
+        progDisplay = new ProgressDisplay(500, 80);
+        primaryStage.setOnHidden(e -> progDisplay.getConsole().stop());
         primaryStage.setScene(progDisplay);
         primaryStage.setTitle(LibVersion.NAME + " v" + LibVersion.VERSION + " Installation");
         primaryStage.centerOnScreen();
         primaryStage.show();
 
-        try {
-            // Locate Project Directory and Library Jar File
-            // Through the power of Java NIO!
-            progDisplay.setInfoText("Locating Project Directory and Library File...");
-            Path projectDir = getProjectDirectory(primaryStage);
-
-            // Get Dependencies
-            Array<Library> libDependencies = new LibraryFinder(projectDir).getDependencies();
-
-            progDisplay.setProgress(10);
-            progDisplay.setInfoText("Retrieving Necessary .classpath and .properties files...");
-            Path wpilibProperties = getWPIProperties(projectDir);
-
-            if (!Files.exists(wpilibProperties, LinkOption.NOFOLLOW_LINKS))
-                throw new MissingRequirementException("No WPILib build.properties Found! Tried: " + wpilibProperties.toString());
-
-            progDisplay.setProgress(20);
-            progDisplay.setInfoText("Adding " + LibVersion.NAME + " to WPILib classpath variable...");
-
-            // Set Classpath Property in wpilib build.properties
-            for (Library lib : libDependencies)
-                if (lib.isAvailable())
-                    modifyClasspathWPI(wpilibProperties, projectDir.relativize(lib.getLibraryFile().toAbsolutePath()));
-
-            try {
-                // Inject Library as a dependency in .classpath
-                // <classpathentry kind="lib" path="<libpath>" sourcepath="<libsrcpath>" />
-                progDisplay.setProgress(50);
-                progDisplay.setInfoText("Generating new .classpath XML Data...");
-
-                Path classpathFile = projectDir.resolve(".classpath");
-                if (Files.exists(classpathFile, LinkOption.NOFOLLOW_LINKS)) {
-                    for (Library lib : libDependencies)
-                        if (lib.isAvailable())
-                            injectDependencyEclipseClasspathXML(lib, classpathFile);
-                } else
-                    FXOptionPane.showBlockingMessage("No .classpath Found!", "Could not automatically modify Eclipse's .classpath file.\nThis can be ignored if not using Eclipse.\n\nOtherwise, link the library manually.", IconType.WARNING);
-            } catch (ParserConfigurationException | SAXException e) {
-                throw new RuntimeParsingException("Failed to Parse .classpath XML!", e);
-            } catch (TransformerException e) {
-                throw new IORuntimeException("Failed to transform and write out new XML Graph to .classpath!", e);
-            }
+        // Have panes ready for the warnings and the final message
+        FXOptionPane.prewarm(2);
 
-            progDisplay.setProgress(100);
-            progDisplay.setInfoText("Finished!");
-            FXOptionPane.showMessage("Finished!");
+        // Locate Project Directory and Library Jar File
+        // Through the power of Java NIO!
+        progDisplay.setInfoText("Locating Project Directory and Library File...");
+        final Path projectDir;
+        try {
+            projectDir = getProjectDirectory(primaryStage);
         } catch (Exception e) {
-            progDisplay.setInfoText("ERROR -- " + e.getMessage());
-            FXOptionPane.showBlockingMessage(primaryStage, "Application has Errored!", assembleErrorMessage(e), IconType.ERROR);
-            createErrorFile(e);
+            reportError(primaryStage, e).thenRun(primaryStage::close);
+            return;
         }
 
-        primaryStage.close();
+        // Install off the FX Application Thread so warnings can be shown while the pipeline keeps working
+        new Thread(() -> install(primaryStage, projectDir), "RoboLib-Installer").start();
     }
 
-    Path getWPIProperties(Path project) throws IOException {
-        Path buildFile = project.resolve("build.xml");
-        String wpiVersion = "current";
-        String wpiPath = "/wpilib/java/${version}/ant/build.properties";
-
-        if (!Files.exists(buildFile, LinkOption.NOFOLLOW_LINKS))
-            throw new MissingRequirementException("No build.xml found in project!");
+    private void install(Stage primaryStage, Path projectDir) {
+        final Array<CompletableFuture<Void>> messages = new Array<>();
 
         try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setIgnoringComments(true);
-            Document xml = factory.newDocumentBuilder().parse(buildFile.toFile());
-            NodeList nodes = xml.getElementsByTagName("property");
-
-            boolean versionRetrieved = false;
-            boolean pathRetrieved = false;
-            for (int i = 0; i < nodes.getLength() && (!versionRetrieved || !pathRetrieved); i++) {
-                Node cur = nodes.item(i);
-                NamedNodeMap map = cur.getAttributes();
-
-                Node fileNode = map.getNamedItem("file");
-
-                if (fileNode.getNodeValue().endsWith("wpilib.properties")) {
-                    int index = fileNode.getNodeValue().indexOf('/');
-                    Path toVersionProps = Paths.get(System.getProperty("user.home"), fileNode.getNodeValue().substring(index));
-
-                    Properties props = new Properties();
-                    props.load(Files.newInputStream(toVersionProps));
-                    wpiVersion = props.getProperty("version");
-                    versionRetrieved = true;
-                } else if (fileNode.getNodeValue().endsWith("build.properties") && fileNode.getNodeValue().contains("/wpilib/")) {
-                    int index = fileNode.getNodeValue().indexOf('/');
-                    wpiPath = fileNode.getNodeValue().substring(index);
-                    pathRetrieved = true;
+            new InstallPipeline().install(projectDir, new InstallListener() {
+                @Override
+                public void progress(double percent) {
+                    Platform.runLater(() -> progDisplay.setProgress(percent));
                 }
-            }
 
-            return Paths.get(System.getProperty("user.home"), wpiPath.replaceAll(WPI_VERSION_REGEX, wpiVersion));
-        } catch (SAXException | ParserConfigurationException e) {
-            throw new IORuntimeException("Failed to Parse WPILib build.xml! Is it still ANT?", e);
-        }
-    }
-
-    void modifyClasspathWPI(Path wpilibProperties, Path libRelative) throws IOException {
-        List<String> lines = Files.readAllLines(wpilibProperties, StandardCharsets.UTF_8);
-        boolean hasChange = false;
-
-        for (int i = 0; i < lines.size(); i++) {
-            String entry = lines.get(i);
-            if (entry.startsWith("classpath")) {
-                if (entry.contains(LibVersion.NAME.toLowerCase())) {
-                    String eVal = entry.substring(entry.indexOf('=') + 1);
-                    lines.set(i, "classpath=" + eVal + ":" + libRelative);
-                    hasChange = true;
-                } else if (hasChange) {
-                    hasChange = false;
+                @Override
+                public void status(String info) {
+                    Platform.runLater(() -> progDisplay.setInfoText(info));
                 }
-            }
-        }
-
-        if (hasChange)
-            Files.write(wpilibProperties, lines, StandardCharsets.UTF_8, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
-    }
-
-    void injectDependencyEclipseClasspathXML(Library lib, Path classpathFile) throws IOException, ParserConfigurationException, SAXException, TransformerException {
-        Document classpathXml = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(classpathFile.toFile());
-        Element libElement = createLibraryElement(classpathXml, lib.getLibraryFile(), lib.hasSourceFile() ? lib.getSourceFile() : null);
-
-        progDisplay.setProgress(70);
-        NodeList libNodes = classpathXml.getElementsByTagName("classpathentry");
-        DOMSearchResult<Node> result = searchForLastElementOfKind(libNodes, "var");
 
-        progDisplay.setProgress(90);
-        progDisplay.setInfoText("Adding " + LibVersion.NAME + " as dependency and writing XML...");
-        if (!result.roboLibFound || !lib.getLibraryFile().endsWith(LIB_FILENAME)) {
-            libNodes.item(0).getParentNode().insertBefore(libElement, result.value.getNextSibling());
-
-            Transformer transform = TransformerFactory.newInstance().newTransformer();
-            transform.setOutputProperty(OutputKeys.INDENT, "yes");
+                @Override
+                public void warning(String title, String message) {
+                    messages.add(FXOptionPane.showMessageAsync(title, message, IconType.WARNING));
+                }
+            });
 
-            DOMSource source = new DOMSource(classpathXml);
-            StreamResult res = new StreamResult(Files.newOutputStream(classpathFile));
-            transform.transform(source, res);
+            messages.add(FXOptionPane.showMessageAsync("Finished!"));
+        } catch (Exception e) {
+            messages.add(reportError(primaryStage, e));
         }
-    }
-
-    Element createLibraryElement(Document classpathXml, Path libFile, Path srcFile) {
-        Element libElement = classpathXml.createElement("classpathentry");
-        libElement.setAttribute("kind", "lib");
-        libElement.setAttribute("path", libFile.toAbsolutePath().toString());
-        if (srcFile != null && Files.exists(srcFile, LinkOption.NOFOLLOW_LINKS))
-            libElement.setAttribute("sourcepath", srcFile.toAbsolutePath().toString());
 
-        return libElement;
+        // Only the end of the installation needs the user, close once every message has been dismissed
+        CompletableFuture.allOf(messages.toArray(CompletableFuture.class)).thenRun(() -> Platform.runLater(primaryStage::close));
     }
 
-    DOMSearchResult<Node> searchForLastElementOfKind(NodeList list, String kind) {
-        Node last = null;
-        boolean found = false;
+    private CompletableFuture<Void> reportError(Stage primaryStage, Exception e) {
+        InstallLog.log(LogLevel.ERROR, LibInstaller.class, "Installation failed", e);
+        Platform.runLater(() -> progDisplay.setInfoText("ERROR -- " + e.getMessage()));
+        final CompletableFuture<Void> acknowledged = FXOptionPane.showMessageAsync(primaryStage, "Application has Errored!", assembleErrorMessage(e), IconType.ERROR);
 
-        for (int i = 0; i < list.getLength(); i++) {
-            Node cur = list.item(i);
-            if (cur.getAttributes().getNamedItem("kind").getNodeValue().equals(kind))
-                last = cur;
-            if (cur.getAttributes().getNamedItem("path").getNodeValue().contains(LibVersion.NAME.toLowerCase()))
-                found = true;
-        }
-
-        return new DOMSearchResult<>(last, found);
+        return acknowledged;
     }
 
     Path getProjectDirectory(Stage primaryStage) {
@@ -281,16 +143,12 @@ public final class LibInstaller extends Application {
                 return getProjectDirectory(primaryStage);
         }
         Path dir = Paths.get(f.toURI());
-        if (!isEclipseProject(dir))
+        if (!InstallPipeline.isEclipseProject(dir))
             throw new MissingRequirementException(String.valueOf(dir) + " is not an eclipse project! No .classpath found!");
 
         return dir;
     }
 
-    boolean isEclipseProject(Path dir) {
-        return Files.exists(dir.resolve(".classpath"), LinkOption.NOFOLLOW_LINKS);
-    }
-
     public static void startInstallation(String[] args) throws IllegalAccessException {
         try {
             // Access Check
@@ -338,24 +196,6 @@ public final class LibInstaller extends Application {
         return message.toString();
     }
 
-    private static void createErrorFile(Exception e) {
-        Path path = Paths.get("robolib-install-error.log");
-
-        try {
-            if (!Files.exists(path)) {
-                if (OS.get() == OS.UNIX)
-                    Files.createFile(path, STANDARD_PERMISSIONS);
-                else
-                    Files.createFile(path);
-            }
-
-            e.printStackTrace(new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.TRUNCATE_EXISTING)));
-        } catch (Exception ignore) {
-        }
-
-        e.printStackTrace();
-    }
-
     static void displayAwarenessMessage() {
         String msg = "Be aware that the following requirements must be met:\n" +
                 "\t 1. The Library file is either in the project directory or in some sub-directory\t\n" +
@@ -371,14 +211,4 @@ public final class LibInstaller extends Application {
                 .setHeight(200)
                 .build();
     }
-
-    static class DOMSearchResult<T extends Node> {
-        public final T value;
-        public final boolean roboLibFound;
-
-        public DOMSearchResult(T val, boolean roboLibFound) {
-            this.value = val;
-            this.roboLibFound = roboLibFound;
-        }
-    }
 }
@@ -20,15 +20,32 @@
 
 package org.usfirst.frc.team1554.lib.installer;
 
+import java.io.IOException;
+import java.util.Arrays;
+
 /**
- * Entry Point for Library Installation
+ * Entry Point for Library Installation. Pass {@code --daemon [port]} to start the {@link InstallerDaemon} or
+ * {@code --headless <project directory>...} to install without the GUI.
  *
  * @author Glossawy
  *         Created 3/8/2015 at 5:18 PM
  */
 public class LibInstallerLauncher {
 
-    public static void main(String[] args) throws IllegalAccessException {
+    public static void main(String[] args) throws IllegalAccessException, IOException {
+        StartupTimer.start();
+        InstallLog.startFileAppender();
+
+        if (args.length > 0 && "--daemon".equals(args[0])) {
+            InstallerDaemon.run(args.length > 1 ? Integer.parseInt(args[1]) : 0);
+            return;
+        }
+
+        if (args.length > 0 && "--headless".equals(args[0])) {
+            System.exit(HeadlessInstaller.run(Arrays.copyOfRange(args, 1, args.length)) ? 0 : 1);
+            return;
+        }
+
         LibInstaller.startInstallation(args);
     }
 
@@ -19,9 +19,6 @@
 
 package org.usfirst.frc.team1554.lib.installer;
 
-import javafx.beans.property.ObjectProperty;
-import javafx.beans.property.SimpleObjectProperty;
-
 import java.io.IOException;
 import java.nio.file.FileVisitOption;
 import java.nio.file.FileVisitResult;
@@ -32,6 +29,7 @@ import java.nio.file.attribute.BasicFileAttributes;
 import java.util.EnumSet;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class Library {
 
@@ -76,7 +74,8 @@ public class Library {
     }
 
     private static Optional<Path> locateLibFile(String filename, Path root) {
-        final ObjectProperty<Path> lib = new SimpleObjectProperty<>();
+        // Plain holder rather than a JavaFX property, the headless installer should not have to load JavaFX
+        final AtomicReference<Path> lib = new AtomicReference<>();
         try {
             Files.walkFileTree(root, EnumSet.noneOf(FileVisitOption.class), 10, new FileVisitor<Path>() {
                 @Override
@@ -86,6 +85,8 @@ public class Library {
 
                 @Override
                 public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    InstallLog.log(LogLevel.DEBUG, Library.class, "Visited {}", file);
+
                     if (file.getFileName().toString().equals(filename)) {
                         lib.set(file);
                         return FileVisitResult.TERMINATE;
@@ -128,7 +129,7 @@ public class Library {
 
     @Override
     public int hashCode() {
-        return Objects.hash(fileLocation);
+        return Objects.hashCode(fileLocation);
     }
 
 }
@@ -21,16 +21,19 @@ package org.usfirst.frc.team1554.lib.installer;
 
 import org.usfirst.frc.team1554.lib.collect.Array;
 import org.usfirst.frc.team1554.lib.collect.Maps;
+import org.usfirst.frc.team1554.lib.collect.ObjectMap;
 import org.usfirst.frc.team1554.lib.meta.LibVersion;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.function.BiFunction;
 
 /**
@@ -52,9 +55,9 @@ public class LibraryFinder {
             "#\n" +
             "# Built-Ins Supported: LIBNAME, VERSION, SEEK:<varname>";
 
-    private static final Path DEP_FILE = Paths.get("dependencies.properties");
-    private static final Map<String, String> GLOBAL_VARS = Maps.newHashMap();
-    private static final Map<String, BiFunction<LibraryFinder, String, String>> GLOBAL_FUNC = Maps.newHashMap();
+    static final Path DEP_FILE = Paths.get("dependencies.properties");
+    private static final ObjectMap<String, String> GLOBAL_VARS = Maps.newObjectMap();
+    private static final ObjectMap<String, BiFunction<LibraryFinder, String, String>> GLOBAL_FUNC = Maps.newObjectMap();
     private static final String[][] REQUIRED_DEPS = {
             {LibVersion.NAME + "-Core", "${LIBNAME}-${VERSION}:true"},
             {LibVersion.NAME + "-MemAccess", "${SEEK:RoboLib-Core}-MemAccess:false"}
@@ -68,8 +71,8 @@ public class LibraryFinder {
 
     private final Properties properties;
     private final Array<Library> dependencies = Array.of(true, 2, Library.class);
-    private final Map<String, String> variables = Maps.newHashMap(GLOBAL_VARS);
-    private final Map<String, BiFunction<LibraryFinder, String, String>> functions = Maps.newHashMap(GLOBAL_FUNC);
+    private final ObjectMap<String, String> variables = Maps.newObjectMap(GLOBAL_VARS);
+    private final ObjectMap<String, BiFunction<LibraryFinder, String, String>> functions = Maps.newObjectMap(GLOBAL_FUNC);
 
     private final Path rootSearchDir;
 
@@ -86,8 +89,12 @@ public class LibraryFinder {
                 Files.createFile(DEP_FILE);
                 writeDefaultDependencyFile();
             } else {
-                properties.load(Files.newInputStream(DEP_FILE));
+                try (InputStream in = Files.newInputStream(DEP_FILE)) {
+                    properties.load(in);
+                }
             }
+        } catch (FileAlreadyExistsException e) {
+            // Another installation created it first (i.e. in the daemon), the defaults are already in place
         } catch (IOException e) {
             throw new IORuntimeException("Failed to Load Dependency File!", e);
         }
@@ -102,7 +109,7 @@ public class LibraryFinder {
             return false;
 
         dependencies.add(lib);
-        variables.put(displayName, filename);
+        variables.put(displayName, filename.endsWith(".jar") ? filename.substring(0, filename.length() - 4) : filename);
         return true;
     }
 
@@ -141,7 +148,8 @@ public class LibraryFinder {
     }
 
     public void processDependencies() {
-        Set<String> keys = properties.stringPropertyNames();
+        // Sorted so that processing (and so ${SEEK:...} resolution) is deterministic
+        Set<String> keys = new TreeSet<>(properties.stringPropertyNames());
 
         for (String key : keys) {
             String entry = properties.getProperty(key);
@@ -152,7 +160,7 @@ public class LibraryFinder {
             boolean libRequired = ("true".equalsIgnoreCase(required) || "false".equalsIgnoreCase(required)) && "true".equalsIgnoreCase(required);
 
             if (!addDependency(key, libFilename, libRequired))
-                System.err.println("Failed to add '" + libFilename + "' dependency! Already exists.");
+                InstallLog.log(LogLevel.WARNING, LibraryFinder.class, "Failed to add '{}' dependency! Already exists.", libFilename);
         }
     }
 
@@ -166,14 +174,18 @@ public class LibraryFinder {
 
             String varname = template.substring(startIdx + 2, endIdx);
 
+            int pIdx = varname.indexOf(':');
             if (variables.containsKey(varname)) {
                 template.replace(startIdx, endIdx + 1, variables.get(varname));
-            } else if (variables.containsKey(varname)) {
-                int pIdx;
-                if ((pIdx = varname.indexOf(':')) == -1)
+            } else if (functions.containsKey(pIdx == -1 ? varname : varname.substring(0, pIdx))) {
+                if (pIdx == -1)
                     throw new RuntimeParsingException("Function Call missing Argument after ':' at \"" + varname + "\" in dependencies file!");
 
-                template.replace(startIdx, endIdx + 1, functions.get(varname).apply(this, varname.substring(pIdx + 1)));
+                String result = functions.get(varname.substring(0, pIdx)).apply(this, varname.substring(pIdx + 1));
+                if (result == null)
+                    throw new RuntimeParsingException("Function Call \"" + varname + "\" produced no value! Is it defined before use?");
+
+                template.replace(startIdx, endIdx + 1, result);
             } else
                 throw new RuntimeParsingException("Variable Name/Function Name Not tied to any existing Function or Variable!: '" + varname + "' was requested.");
         }
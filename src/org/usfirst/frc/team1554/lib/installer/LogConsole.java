@@ -0,0 +1,130 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.installer;
+
+import javafx.animation.AnimationTimer;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TitledPane;
+import javafx.scene.text.Font;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+
+/**
+ * Expandable pane listing the {@link InstallLog} as it is written. The list is virtualized, only the visible rows
+ * are ever formatted, and holds at most {@link #MAX_LINES} records, dropping the oldest. Records are pulled from the
+ * log's ring buffer once per pulse on the FX Application Thread, so producers never wait on the GUI.
+ *
+ * @author Glossawy
+ */
+public final class LogConsole extends TitledPane {
+
+    public static final int MAX_LINES = 20_000;
+    public static final double CONSOLE_HEIGHT = 250;
+
+    private static final int BATCH_SIZE = 4096;
+    private static final double LINE_HEIGHT = 16;
+
+    private final LogRingBuffer source;
+    private final ObservableList<LogRecord> lines = FXCollections.observableArrayList();
+    private final ArrayList<LogRecord> batch = new ArrayList<>(BATCH_SIZE);
+    private final ListView<LogRecord> view = new ListView<>(this.lines);
+
+    private long next = 0;
+
+    private final AnimationTimer pump = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            drain();
+        }
+    };
+
+    public LogConsole() {
+        this(InstallLog.buffer());
+    }
+
+    public LogConsole(LogRingBuffer source) {
+        this.source = source;
+
+        setText("Details");
+        setAnimated(false);
+        setExpanded(false);
+
+        this.view.setFixedCellSize(LINE_HEIGHT);
+        this.view.setPrefHeight(CONSOLE_HEIGHT);
+        this.view.setCellFactory(list -> new RecordCell());
+        setContent(this.view);
+
+        this.pump.start();
+    }
+
+    /**
+     * Stop pulling from the log, i.e. when the window is closed.
+     */
+    public void stop() {
+        this.pump.stop();
+    }
+
+    private void drain() {
+        this.next = this.source.drain(this.next, BATCH_SIZE, this.batch::add);
+        if (this.batch.isEmpty()) return;
+
+        this.lines.addAll(this.batch);
+        this.batch.clear();
+
+        final int excess = this.lines.size() - MAX_LINES;
+        if (excess > 0)
+            this.lines.remove(0, excess);
+
+        if (isExpanded())
+            this.view.scrollTo(this.lines.size() - 1);
+    }
+
+    private static final class RecordCell extends ListCell<LogRecord> {
+
+        private static final Font FONT = Font.font("Monospaced", 11);
+
+        // Cells are only used on the FX Application Thread
+        private static final SimpleDateFormat TIME_FORMAT = new SimpleDateFormat("HH:mm:ss.SSS");
+        private static final Date date = new Date();
+
+        RecordCell() {
+            setFont(FONT);
+        }
+
+        @Override
+        protected void updateItem(LogRecord item, boolean empty) {
+            super.updateItem(item, empty);
+
+            if (empty || (item == null)) {
+                setText(null);
+                return;
+            }
+
+            date.setTime(item.timestamp);
+            setText(TIME_FORMAT.format(date) + " [" + item.level + "] " + item.getMessage());
+        }
+    }
+}
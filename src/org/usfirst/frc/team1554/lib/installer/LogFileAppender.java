@@ -0,0 +1,194 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.installer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes the {@link InstallLog} to a rolling file from a background daemon thread. Records are pulled from the log's
+ * ring buffer in batches, formatted on the appender's thread and written with one write and one flush per batch,
+ * so logging threads never touch the disk. <br />
+ * <br />
+ * Once the file grows past {@link #MAX_FILE_BYTES} it is renamed to {@code <file>.1}, older files shifting up to
+ * {@code <file>.<MAX_BACKUPS>}, and a new file is started. If the appender falls more than a buffer's worth behind,
+ * the records it missed are noted in the file rather than silently dropped.
+ *
+ * @author Glossawy
+ */
+final class LogFileAppender implements Runnable, AutoCloseable {
+
+    static final long MAX_FILE_BYTES = 1 << 20;
+    static final int MAX_BACKUPS = 3;
+
+    private static final int BATCH_SIZE = 1024;
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final LogRingBuffer source;
+    private final Path file;
+    private final Thread thread;
+
+    // Only touched by the appender thread
+    private final StringBuilder batch = new StringBuilder(BATCH_SIZE * 96);
+    private final SimpleDateFormat timeFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+    private final Date date = new Date();
+    private OutputStream out;
+    private long written;
+    private long next;
+
+    private volatile boolean running = true;
+
+    LogFileAppender(LogRingBuffer source, Path file) {
+        this.source = source;
+        this.file = file.toAbsolutePath();
+        this.thread = new Thread(this, "RoboLib-Log-Appender");
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        this.thread.start();
+    }
+
+    @Override
+    public void run() {
+        try {
+            open();
+
+            while (this.running) {
+                if (!appendBatch())
+                    LockSupport.parkNanos(this, IDLE_NANOS);
+            }
+
+            // Whatever was published before close() was called
+            while (appendBatch()) ;
+        } catch (IOException e) {
+            System.err.println("Installer log disabled, could not write " + this.file + ": " + e);
+        } finally {
+            closeOutput();
+        }
+    }
+
+    /**
+     * Stop the appender once everything published so far has been written, waiting a short while for it to finish.
+     */
+    @Override
+    public void close() {
+        this.running = false;
+        LockSupport.unpark(this.thread);
+
+        try {
+            this.thread.join(TimeUnit.SECONDS.toMillis(2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return True if anything was written
+     */
+    private boolean appendBatch() throws IOException {
+        this.next = this.source.drain(this.next, BATCH_SIZE, this::format);
+        if (this.batch.length() == 0) return false;
+
+        // Count what goes to disk, the roll size is in bytes and any non-ASCII text takes more than one per char
+        final byte[] bytes = this.batch.toString().getBytes(StandardCharsets.UTF_8);
+        this.out.write(bytes);
+        this.out.flush();
+        this.written += bytes.length;
+        this.batch.setLength(0);
+
+        if (this.written > MAX_FILE_BYTES)
+            roll();
+
+        return true;
+    }
+
+    private void format(LogRecord record) {
+        final StringBuilder sb = this.batch;
+
+        if (record.sequence > this.next)
+            sb.append("... ").append(record.sequence - this.next).append(" records dropped ...").append(LINE_SEPARATOR);
+        this.next = record.sequence + 1;
+
+        this.date.setTime(record.timestamp);
+        sb.append(this.timeFormat.format(this.date)).append(' ');
+        sb.append(record.level).append(" [").append(record.thread).append("] ");
+        if (record.source != null)
+            sb.append(record.getSourceName()).append(" - ");
+        sb.append(record.getMessage()).append(LINE_SEPARATOR);
+
+        if (record.throwable != null) {
+            final StringWriter trace = new StringWriter();
+            record.throwable.printStackTrace(new PrintWriter(trace));
+            sb.append(trace);
+        }
+    }
+
+    private void open() throws IOException {
+        final Path parent = this.file.getParent();
+        if (parent != null)
+            Files.createDirectories(parent);
+
+        this.written = Files.exists(this.file, LinkOption.NOFOLLOW_LINKS) ? Files.size(this.file) : 0;
+        this.out = Files.newOutputStream(this.file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private void roll() throws IOException {
+        closeOutput();
+
+        for (int i = MAX_BACKUPS - 1; i > 0; i--) {
+            final Path older = backup(i);
+            if (Files.exists(older, LinkOption.NOFOLLOW_LINKS))
+                Files.move(older, backup(i + 1), StandardCopyOption.REPLACE_EXISTING);
+        }
+        Files.move(this.file, backup(1), StandardCopyOption.REPLACE_EXISTING);
+
+        open();
+    }
+
+    private Path backup(int index) {
+        return this.file.resolveSibling(this.file.getFileName() + "." + index);
+    }
+
+    private void closeOutput() {
+        if (this.out == null) return;
+
+        try {
+            this.out.close();
+        } catch (IOException ignore) {
+        }
+
+        this.out = null;
+    }
+}
@@ -0,0 +1,54 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.installer;
+
+/**
+ * Severity of a {@link LogRecord}, in increasing order.
+ *
+ * @author Glossawy
+ */
+public enum LogLevel {
+    TRACE, DEBUG, INFO, WARNING, ERROR;
+
+    /**
+     * @param threshold Minimum Level
+     * @return True if this level is at least as severe as the threshold
+     */
+    public boolean isAtLeast(LogLevel threshold) {
+        return ordinal() >= threshold.ordinal();
+    }
+
+    /**
+     * Parse a level name, case-insensitively.
+     *
+     * @param name     Level Name, may be null
+     * @param fallback Level to use if the name is null or unknown
+     * @return Matching Level or the fallback
+     */
+    public static LogLevel forName(String name, LogLevel fallback) {
+        if (name == null) return fallback;
+
+        for (final LogLevel level : values())
+            if (level.name().equalsIgnoreCase(name)) return level;
+
+        return fallback;
+    }
+}
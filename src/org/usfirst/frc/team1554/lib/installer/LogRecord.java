@@ -0,0 +1,104 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.installer;
+
+/**
+ * A single {@link InstallLog} entry. The message is kept as a pattern and up to two arguments and is only assembled
+ * the first time {@link #getMessage()} is called, which happens on the consuming thread. Each {@code {}} in the
+ * pattern is replaced by the next argument. The arguments themselves are converted to strings when the record is
+ * created, so a mutable argument is logged with the value it had at the call.
+ *
+ * @author Glossawy
+ */
+public final class LogRecord {
+
+    public final LogLevel level;
+    public final long timestamp;
+    public final String thread;
+    public final Class<?> source;
+    public final Throwable throwable;
+
+    private final String pattern;
+    private final int argCount;
+    private final String arg0;
+    private final String arg1;
+
+    // Formatted at most a few times if raced, every result is identical
+    private String message;
+
+    /**
+     * Position in the ring buffer, assigned by {@link LogRingBuffer#publish(LogRecord)} before the record is made
+     * visible to the consumers.
+     */
+    long sequence = -1;
+
+    public LogRecord(LogLevel level, String message) {
+        this(level, null, message, 0, null, null, null);
+    }
+
+    LogRecord(LogLevel level, Class<?> source, String pattern, int argCount, Object arg0, Object arg1, Throwable throwable) {
+        this.level = level;
+        this.timestamp = System.currentTimeMillis();
+        this.thread = Thread.currentThread().getName();
+        this.source = source;
+        this.throwable = throwable;
+        this.pattern = pattern;
+        this.argCount = argCount;
+        this.arg0 = argCount > 0 ? String.valueOf(arg0) : null;
+        this.arg1 = argCount > 1 ? String.valueOf(arg1) : null;
+    }
+
+    public String getMessage() {
+        String message = this.message;
+
+        if (message == null)
+            this.message = message = this.argCount == 0 ? String.valueOf(this.pattern) : format();
+
+        return message;
+    }
+
+    /**
+     * @return Simple name of the source class or an empty string if there is none
+     */
+    public String getSourceName() {
+        return this.source == null ? "" : this.source.getSimpleName();
+    }
+
+    private String format() {
+        final StringBuilder sb = new StringBuilder(this.pattern.length() + 32);
+        int from = 0;
+
+        for (int i = 0; i < this.argCount; i++) {
+            final int idx = this.pattern.indexOf("{}", from);
+            if (idx < 0) break;
+
+            sb.append(this.pattern, from, idx).append(i == 0 ? this.arg0 : this.arg1);
+            from = idx + 2;
+        }
+
+        return sb.append(this.pattern, from, this.pattern.length()).toString();
+    }
+
+    @Override
+    public String toString() {
+        return "[" + this.level + "] " + getMessage();
+    }
+}
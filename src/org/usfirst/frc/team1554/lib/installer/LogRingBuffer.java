@@ -0,0 +1,116 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.installer;
+
+import org.usfirst.frc.team1554.lib.math.MathUtils;
+import org.usfirst.frc.team1554.lib.util.Preconditions;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded, lock-free, multi-producer ring buffer of {@link LogRecord}s. Producers never block or
+ * wait: each claims a sequence number with one atomic increment and writes its record into the slot for that
+ * sequence, overwriting whatever record was there. A consumer that falls more than a full lap behind therefore
+ * loses the oldest records rather than slowing the producers down, and the buffer never holds more than its
+ * capacity. <br />
+ * <br />
+ * Draining does not remove anything, each consumer keeps its own cursor.
+ *
+ * @author Glossawy
+ */
+public final class LogRingBuffer {
+
+    private final AtomicReferenceArray<LogRecord> slots;
+    private final AtomicLong head = new AtomicLong();
+    private final int capacity;
+    private final int mask;
+
+    /**
+     * @param capacity Number of Records retained, rounded up to a power of two
+     */
+    public LogRingBuffer(int capacity) {
+        Preconditions.checkExpression(capacity > 0, "capacity must be > 0: " + capacity);
+
+        this.capacity = MathUtils.nextPowerOfTwo(capacity);
+        this.mask = this.capacity - 1;
+        this.slots = new AtomicReferenceArray<>(this.capacity);
+    }
+
+    /**
+     * Publish a record, safe to call from any thread.
+     *
+     * @param record Record to Publish
+     */
+    public void publish(LogRecord record) {
+        final long sequence = this.head.getAndIncrement();
+
+        record.sequence = sequence;
+        this.slots.set((int) (sequence & this.mask), record);
+    }
+
+    /**
+     * Hands records, oldest first, starting at the given sequence to the sink. Stops early at a slot that has been claimed but not yet written so that records are never
+     * delivered out of order.
+     *
+     * @param from Sequence of the first record wanted, 0 initially and the returned value afterwards
+     * @param max  Maximum number of records to deliver
+     * @param sink Receives the records
+     * @return Sequence to pass to the next drain
+     */
+    public long drain(long from, int max, Consumer<? super LogRecord> sink) {
+        final long end = this.head.get();
+
+        // Lapped, the records between 'from' and the oldest retained record are gone
+        long sequence = Math.max(from, end - this.capacity);
+        int delivered = 0;
+
+        while ((sequence < end) && (delivered < max)) {
+            final LogRecord record = this.slots.get((int) (sequence & this.mask));
+
+            // Claimed but not yet written, try again on the next drain
+            if ((record == null) || (record.sequence < sequence))
+                break;
+
+            // Overwritten by a producer on the next lap while we were reading, that record is lost
+            if (record.sequence == sequence) {
+                sink.accept(record);
+                delivered++;
+            }
+
+            sequence++;
+        }
+
+        return sequence;
+    }
+
+    /**
+     * @return Sequence the next published record will receive, i.e. the number of records ever published
+     */
+    public long published() {
+        return this.head.get();
+    }
+
+    public int capacity() {
+        return this.capacity;
+    }
+}
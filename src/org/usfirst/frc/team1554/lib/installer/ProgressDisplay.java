@@ -30,10 +30,12 @@ import javafx.scene.Scene;
 import javafx.scene.control.Label;
 import javafx.scene.control.ProgressBar;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontPosture;
 import javafx.scene.text.FontWeight;
+import javafx.stage.Window;
 
 /**
  * Needs Documentation
@@ -45,6 +47,7 @@ public final class ProgressDisplay extends Scene {
 
     private final StringProperty info;
     private final DoubleProperty progress;
+    private final LogConsole console;
 
     private ProgressDisplay(Parent root, double width, double height) {
         super(root, width, height);
@@ -75,7 +78,15 @@ public final class ProgressDisplay extends Scene {
         progressDisplay.setAlignment(Pos.BASELINE_LEFT);
         progressDisplay.setSpacing(10);
 
-        rootPane.getChildren().addAll(textDisplay, progressDisplay);
+        this.console = new LogConsole();
+        this.console.expandedProperty().addListener((obs, wasExpanded, expanded) -> {
+            Window window = getWindow();
+            if (window != null)
+                window.setHeight(window.getHeight() + (expanded ? LogConsole.CONSOLE_HEIGHT : -LogConsole.CONSOLE_HEIGHT));
+        });
+        VBox.setVgrow(this.console, Priority.ALWAYS);
+
+        rootPane.getChildren().addAll(textDisplay, progressDisplay, this.console);
     }
 
     public ProgressDisplay(@NamedArg("width") double width, @NamedArg("height") double height) {
@@ -95,6 +106,10 @@ public final class ProgressDisplay extends Scene {
 
     }
 
+    public LogConsole getConsole() {
+        return this.console;
+    }
+
     public double getProgress() {
         return this.progress.get() * 100.;
     }
@@ -0,0 +1,75 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.installer;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reports start-up milestones (time-to-first-frame in the GUI, time-to-done headless) when the installer is run with
+ * {@code -Drobolib.installer.timing=true}. Used to compare class loading and AppCDS changes, see the README. <br />
+ * <br />
+ * Times are reported from the start of {@link LibInstallerLauncher#main(String[])} and from JVM start. The latter
+ * is only looked up when reporting so that the management classes do not skew the measurement.
+ *
+ * @author Glossawy
+ */
+final class StartupTimer {
+
+    static final boolean ENABLED = Boolean.getBoolean("robolib.installer.timing");
+
+    // Written by the launcher thread, read by whichever thread reaches a milestone (the FX thread for the first frame)
+    private static volatile long mainStart;
+    private static final AtomicBoolean firstFrame = new AtomicBoolean();
+
+    private StartupTimer() {
+    }
+
+    /**
+     * Marks the start of main, must be the first thing the launcher does.
+     */
+    static void start() {
+        mainStart = System.nanoTime();
+    }
+
+    /**
+     * Marks the first window becoming visible, only the first call is reported.
+     */
+    static void firstFrame() {
+        if (ENABLED && firstFrame.compareAndSet(false, true))
+            report("time-to-first-frame");
+    }
+
+    /**
+     * Marks a headless installation finishing.
+     */
+    static void done() {
+        if (ENABLED)
+            report("time-to-done");
+    }
+
+    private static void report(String milestone) {
+        final long sinceMain = (System.nanoTime() - mainStart) / 1_000_000;
+        final long sinceJvm = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+
+        System.err.println("[timing] " + milestone + ": " + sinceMain + " ms since main, " + sinceJvm + " ms since JVM start");
+    }
+}
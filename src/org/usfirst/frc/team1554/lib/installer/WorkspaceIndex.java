@@ -0,0 +1,108 @@
+/*==================================================================================================
+ RoboLib - An Expansion and Improvement Library for WPILibJ
+ Copyright (C) 2015  Glossawy
+
+ This library is free software; you can redistribute it and/or
+ modify it under the terms of the GNU Lesser General Public
+ License as published by the Free Software Foundation; either
+ version 2.1 of the License, or (at your option) any later version.
+
+ This library is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ Lesser General Public License for more details.
+
+ You should have received a copy of the GNU Lesser General Public
+ License along with this library; if not, write to the Free Software
+ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ =================================================================================================*/
+
+
+package org.usfirst.frc.team1554.lib.installer;
+
+import org.usfirst.frc.team1554.lib.collect.Array;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the dependencies located for each project so that repeated installs (i.e. through the
+ * {@link InstallerDaemon}) do not walk the project tree every time. An entry is dropped once the dependencies file
+ * changes or one of the located library files disappears.
+ *
+ * @author Glossawy
+ */
+public final class WorkspaceIndex {
+
+    private final ConcurrentHashMap<Path, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Get the dependencies of the given project, locating them if they are not yet known or are out of date.
+     *
+     * @param projectDir Project Directory
+     * @return Copy of the Project's Dependencies
+     */
+    public Array<Library> getDependencies(Path projectDir) {
+        final Path key = projectDir.toAbsolutePath().normalize();
+        final long stamp = dependencyFileStamp();
+
+        Entry entry = this.entries.get(key);
+        if ((entry == null) || !entry.isValid(stamp)) {
+            entry = new Entry(new LibraryFinder(key).getDependencies(), stamp);
+            this.entries.put(key, entry);
+        }
+
+        return new Array<>(entry.dependencies);
+    }
+
+    /**
+     * Forget a project, the next request for it will walk its tree again.
+     *
+     * @param projectDir Project Directory
+     */
+    public void invalidate(Path projectDir) {
+        this.entries.remove(projectDir.toAbsolutePath().normalize());
+    }
+
+    public void clear() {
+        this.entries.clear();
+    }
+
+    public int size() {
+        return this.entries.size();
+    }
+
+    private static long dependencyFileStamp() {
+        try {
+            return Files.getLastModifiedTime(LibraryFinder.DEP_FILE).toMillis();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static final class Entry {
+        final Array<Library> dependencies;
+        final long stamp;
+
+        Entry(Array<Library> dependencies, long stamp) {
+            this.dependencies = dependencies;
+            this.stamp = stamp;
+        }
+
+        boolean isValid(long currentStamp) {
+            if (this.stamp != currentStamp)
+                return false;
+
+            for (int i = 0; i < this.dependencies.size(); i++) {
+                final Library lib = this.dependencies.get(i);
+                if (lib.isAvailable() && !Files.exists(lib.getLibraryFile(), LinkOption.NOFOLLOW_LINKS))
+                    return false;
+            }
+
+            return true;
+        }
+    }
+}
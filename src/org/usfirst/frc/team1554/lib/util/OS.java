@@ -21,9 +21,8 @@
 package org.usfirst.frc.team1554.lib.util;
 
 import org.usfirst.frc.team1554.lib.collect.Maps;
-import org.usfirst.frc.team1554.lib.collect.ObjectSet;
-
-import java.util.Map;
+import org.usfirst.frc.team1554.lib.collect.ObjectMap;
+import org.usfirst.frc.team1554.lib.collect.OrderedSet;
 
 /**
  * Small Utility to Determine OS and OS Architecture based on an
@@ -469,10 +468,10 @@ public final class OS {
     public static final OS UNIX = new OS("", "lin", "linux", "nux");
     public static final OS UNSUPPORTED = new OS("");
 
-    private static final Map<OS, String> nameLookup = Maps.newHashMap();
+    private static final ObjectMap<OS, String> nameLookup = Maps.newObjectMap();
 
     private static final Runtime rt = Runtime.getRuntime();
-    private static final ObjectSet<OS> values = ObjectSet.with(WINDOWS, UNIX, UNSUPPORTED);
+    private static final OrderedSet<OS> values = OrderedSet.with(WINDOWS, UNIX, UNSUPPORTED);
 
     public final String suffix;
     public final String[] aliases;
@@ -583,7 +582,7 @@ public final class OS {
         return used / total;
     }
 
-    public static ObjectSet<OS> values() {
+    public static OrderedSet<OS> values() {
         return values;
     }
 